@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 API 응답의 compact binary 포맷 (application/x-point-binary)
+ * - 모든 long 은 zigzag varint, TransactionType 은 ordinal 1바이트로 기록한다.
+ * - UserPoint : id, point, updateMillis
+ * - PointHistory : id, userId, amount, type, updateMillis
+ * - List<PointHistory> : 건수 + 내역들. id/updateMillis 는 직전 내역과의 차이로 기록한다.
+ * 객체 트리를 만들지 않고 스레드별로 재사용하는 버퍼에 바로 쓴 뒤 가득 차면 OutputStream 으로 내보낸다.
+ */
+public final class PointBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-point-binary";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryCodec() {
+    }
+
+    public static void writeUserPoint(UserPoint userPoint, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(BUFFERS.get(), out);
+        encoder.writeLong(userPoint.id());
+        encoder.writeLong(userPoint.point());
+        encoder.writeLong(userPoint.updateMillis());
+        encoder.flush();
+    }
+
+    public static void writeHistory(PointHistory history, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(BUFFERS.get(), out);
+        writeHistory(encoder, history, 0, 0);
+        encoder.flush();
+    }
+
+    public static void writeHistories(List<PointHistory> histories, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(BUFFERS.get(), out);
+        encoder.writeLong(histories.size());
+        long prevId = 0;
+        long prevMillis = 0;
+        for (PointHistory history : histories) {
+            writeHistory(encoder, history, prevId, prevMillis);
+            prevId = history.id();
+            prevMillis = history.updateMillis();
+        }
+        encoder.flush();
+    }
+
+    public static UserPoint readUserPoint(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        return new UserPoint(readLong(in), readLong(in), readLong(in));
+    }
+
+    public static PointHistory readHistory(byte[] bytes) {
+        return readHistory(ByteBuffer.wrap(bytes), 0, 0);
+    }
+
+    public static List<PointHistory> readHistories(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int size = (int) readLong(in);
+        List<PointHistory> histories = new ArrayList<>(size);
+        long prevId = 0;
+        long prevMillis = 0;
+        for (int i = 0; i < size; i++) {
+            PointHistory history = readHistory(in, prevId, prevMillis);
+            histories.add(history);
+            prevId = history.id();
+            prevMillis = history.updateMillis();
+        }
+        return histories;
+    }
+
+    private static void writeHistory(Encoder encoder, PointHistory history, long prevId, long prevMillis) throws IOException {
+        encoder.writeLong(history.id() - prevId);
+        encoder.writeLong(history.userId());
+        encoder.writeLong(history.amount());
+        encoder.writeByte(history.type().ordinal());
+        encoder.writeLong(history.updateMillis() - prevMillis);
+    }
+
+    private static PointHistory readHistory(ByteBuffer in, long prevId, long prevMillis) {
+        long id = prevId + readLong(in);
+        long userId = readLong(in);
+        long amount = readLong(in);
+        TransactionType type = TYPES[in.get()];
+        long updateMillis = prevMillis + readLong(in);
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    private static long readLong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (result >>> 1) ^ -(result & 1);
+    }
+
+    private static final class Encoder {
+
+        private final byte[] buffer;
+        private final OutputStream out;
+        private int position;
+
+        private Encoder(byte[] buffer, OutputStream out) {
+            this.buffer = buffer;
+            this.out = out;
+        }
+
+        private void writeLong(long value) throws IOException {
+            ensureRoom(10);
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+        }
+
+        private void writeByte(int value) throws IOException {
+            ensureRoom(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensureRoom(int bytes) throws IOException {
+            if (position + bytes > buffer.length)
+                flush();
+        }
+
+        private void flush() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Accept: application/x-point-binary 요청에 UserPoint / PointHistory / List<PointHistory> 를 binary 로 응답한다.
+ * 쓰기 전용이며, 그 외 타입이나 Accept 헤더에는 관여하지 않으므로 기본 응답은 계속 JSON 이다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType POINT_BINARY = MediaType.parseMediaType(PointBinaryCodec.MEDIA_TYPE);
+
+    public PointBinaryHttpMessageConverter() {
+        super(POINT_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPoint.class == clazz || PointHistory.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType))
+            return false;
+        if (type instanceof ParameterizedType parameterized)
+            return List.class.isAssignableFrom((Class<?>) parameterized.getRawType())
+                    && parameterized.getActualTypeArguments()[0] == PointHistory.class;
+        return supports(type instanceof Class<?> typeClass ? typeClass : clazz);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (value instanceof UserPoint userPoint)
+            PointBinaryCodec.writeUserPoint(userPoint, outputMessage.getBody());
+        else if (value instanceof PointHistory history)
+            PointBinaryCodec.writeHistory(history, outputMessage.getBody());
+        else
+            PointBinaryCodec.writeHistories((List<PointHistory>) value, outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("point binary format is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("point binary format is write-only", inputMessage);
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * binary 컨버터를 기존 컨버터 뒤에 등록한다.
+ * Accept 헤더가 없거나 모든 타입을 허용하는 요청은 앞쪽의 Jackson 컨버터가 선택되어 JSON 응답이 유지된다.
+ */
+@Configuration
+public class PointBinaryWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
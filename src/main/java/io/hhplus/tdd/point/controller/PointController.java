@@ -1,14 +1,25 @@
 package io.hhplus.tdd.point.controller;
 
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointTransferRequest;
+import io.hhplus.tdd.point.domain.PointTransferResult;
+import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.export.PointHistoryExportFormat;
+import io.hhplus.tdd.point.export.PointHistoryExporter;
 import io.hhplus.tdd.point.service.PointService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -38,6 +49,51 @@ public class PointController {
         return pointService.findPointHistoryByUserId(id);
     }
 
+    /**
+     * 전체 회원의 포인트 충전/이용 내역을 기간(from 이상 to 미만, epoch millis)으로 조회합니다.
+     * 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회합니다.
+     * 파티셔닝 시에는 한 인스턴스가 전체 내역을 갖지 않으므로 지원하지 않습니다. (PointRoutingFilter 가 501 로 거절)
+     */
+    @GetMapping("histories")
+    public PointHistoryPage histories(
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "9223372036854775807") long to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return pointService.findPointHistories(from, to, type, cursor, size);
+    }
+
+    /**
+     * 포인트 충전/이용 내역을 NDJSON 또는 CSV 로 내보냅니다.
+     * userIds 를 생략하면 전체 회원, from/to 를 생략하면 전체 기간을 내보내며, 응답은 버퍼링 없이 스트리밍됩니다.
+     * userIds 는 기간 내 전체 내역을 순회하며 거르므로, 회원 수가 적어도 비용은 같은 기간의 전체 내보내기와 같습니다.
+     * 파티셔닝 시에는 한 인스턴스가 전체 내역을 갖지 않으므로 지원하지 않습니다. (PointRoutingFilter 가 501 로 거절)
+     */
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Set<Long> userIds,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "9223372036854775807") long to,
+            @RequestParam(defaultValue = "NDJSON") PointHistoryExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        // 기간 검증 예외가 스트리밍 시작 전에 발생하도록 스트림은 여기서 생성한다.
+        Stream<PointHistory> histories = pointService.streamPointHistories(from, to, userIds == null ? Set.of() : userIds);
+        StreamingResponseBody body = out -> {
+            long exported = PointHistoryExporter.export(histories, format, gzip, out);
+            log.info("exported {} point histories as {}", exported, format);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"point-histories." + format.extension() + "\"");
+        if (gzip)
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
@@ -59,4 +115,15 @@ public class PointController {
     ) {
         return pointService.usePoint(id, amount);
     }
+
+    /**
+     * 한 회원의 포인트를 다른 회원에게 이체합니다. (보내는 회원 USE + 받는 회원 CHARGE)
+     * 파티셔닝 시 두 회원의 소유 인스턴스가 같을 때만 이체할 수 있습니다. (PointRoutingFilter)
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransferRequest request
+    ) {
+        return pointService.transfer(request.fromUserId(), request.toUserId(), request.amount());
+    }
 }
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+
+/**
+ * 기간별 포인트 내역 조회 결과
+ * - nextCursor : 다음 페이지 조회 시 전달할 커서 (마지막 페이지이면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        String nextCursor
+) {
+}
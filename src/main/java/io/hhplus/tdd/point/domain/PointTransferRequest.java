@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point.domain;
+
+public record PointTransferRequest(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
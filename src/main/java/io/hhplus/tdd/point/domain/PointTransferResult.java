@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 이체 결과 (이체 후 보내는/받는 회원의 포인트)
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+
+/**
+ * 파티션 멤버십 변경 시 이전 소유 인스턴스가 새 소유 인스턴스로 넘기는 회원 상태
+ * (포인트, 전체 내역, 만료되지 않은 lot)
+ */
+public record PointUserSnapshot(
+        long userId,
+        long point,
+        List<PointHistory> histories,
+        List<Lot> lots
+) {
+
+    public record Lot(
+            long amount,
+            long issuedMillis,
+            long expireMillis
+    ) {
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠
+ * - 레벨마다 SLOTS(64)개의 슬롯을 두고, 레벨 l 의 슬롯 하나는 64^l 틱을 담당한다.
+ * - 항목은 만료 틱과 현재 틱의 상위 자릿수가 처음으로 같아지는 레벨의 슬롯에 들어간다. (O(1) 등록)
+ * - 틱이 진행되어 상위 레벨 슬롯의 구간에 들어서면 그 슬롯의 항목을 하위 레벨로 재배치(cascade)하고,
+ *   레벨 0 슬롯에 도달한 항목을 만료시킨다.
+ * - 주기적으로 전체를 스캔하거나 항목마다 타이머를 두지 않으므로 수백만 건도 틱당 처리 비용이 일정하다.
+ * - 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis < 1)
+            throw new IllegalArgumentException("tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new ArrayList<>(LEVELS * SLOTS);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * deadlineMillis 이후 처음 진행되는 틱에 만료되도록 등록한다. 이미 지난 시각이면 다음 틱에 만료된다.
+     */
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        place(new Entry<>(item, Math.max(deadlineTick, currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * nowMillis 까지 틱을 진행하고 만료된 항목을 만료 순서대로 반환한다.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0)
+                    cascade(level, (int) ((currentTick >>> (BITS * level)) & MASK));
+            }
+
+            List<Entry<T>> due = detach(0, (int) (currentTick & MASK));
+            for (Entry<T> entry : due) {
+                expired.add(entry.item());
+            }
+            size -= due.size();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    private void cascade(int level, int slot) {
+        for (Entry<T> entry : detach(level, slot)) {
+            place(entry);
+        }
+    }
+
+    private List<Entry<T>> detach(int level, int slot) {
+        int index = level * SLOTS + slot;
+        List<Entry<T>> entries = slots.get(index);
+        if (entries.isEmpty())
+            return entries;
+        slots.set(index, new ArrayList<>());
+        return entries;
+    }
+
+    private void place(Entry<T> entry) {
+        long tick = entry.deadlineTick();
+        int level = 0;
+        while (level < LEVELS - 1 && (tick >>> (BITS * (level + 1))) != (currentTick >>> (BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((tick >>> (BITS * level)) & MASK);
+        slots.get(level * SLOTS + slot).add(entry);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
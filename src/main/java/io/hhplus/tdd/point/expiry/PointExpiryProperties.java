@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 포인트 만료 설정 (point.expiry.*)
+ * - validity : 충전된 포인트의 유효 기간
+ * - tick : 타이밍 휠의 틱 간격이자 만료 처리 주기 (ISO-8601, 예: PT1S)
+ */
+@ConfigurationProperties(prefix = "point.expiry")
+public record PointExpiryProperties(
+        Duration validity,
+        Duration tick
+) {
+
+    public PointExpiryProperties {
+        if (validity == null)
+            validity = Duration.ofDays(365);
+        if (tick == null)
+            tick = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.service.PointService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 틱마다 타이밍 휠을 진행시켜 만료된 lot 을 회원별로 묶어 한 번에 소멸 처리한다.
+ * 회원당 한 틱에 포인트 갱신 1회 + EXPIRE 내역 1건만 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PointExpiryProperties.class)
+public class PointExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpiryScheduler.class);
+    private final PointLotLedger pointLotLedger;
+    private final PointService pointService;
+
+    @Scheduled(fixedDelayString = "${point.expiry.tick:PT1S}")
+    public void expire() {
+        List<PointLot> due = pointLotLedger.pollExpired(System.currentTimeMillis());
+        if (due.isEmpty())
+            return;
+
+        Map<Long, List<PointLot>> byUser = due.stream().collect(Collectors.groupingBy(PointLot::userId));
+        byUser.forEach((userId, lots) -> {
+            try {
+                pointService.expire(userId, lots);
+            } catch (RuntimeException e) {
+                log.warn("failed to expire {} point lots of user {}, retrying next tick", lots.size(), userId, e);
+                pointLotLedger.reschedule(lots);
+            }
+        });
+    }
+}
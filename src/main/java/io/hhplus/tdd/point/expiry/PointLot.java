@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 충전 한 건으로 발급된 포인트 묶음(lot)
+ * - remaining 은 사용/만료로 줄어들며, 해당 회원의 락을 잡은 상태에서만 변경된다.
+ */
+public class PointLot {
+
+    private final long userId;
+    private final long amount;
+    private final long issuedMillis;
+    private final long expireMillis;
+    private long remaining;
+
+    public PointLot(long userId, long amount, long issuedMillis, long expireMillis) {
+        this.userId = userId;
+        this.amount = amount;
+        this.issuedMillis = issuedMillis;
+        this.expireMillis = expireMillis;
+        this.remaining = amount;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public long amount() {
+        return amount;
+    }
+
+    public long issuedMillis() {
+        return issuedMillis;
+    }
+
+    public long expireMillis() {
+        return expireMillis;
+    }
+
+    public long remaining() {
+        return remaining;
+    }
+
+    long take(long requested) {
+        long taken = Math.min(remaining, requested);
+        remaining -= taken;
+        return taken;
+    }
+}
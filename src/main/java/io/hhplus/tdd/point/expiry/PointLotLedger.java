@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원별 포인트 lot 원장
+ * - 충전 시 lot 을 발급하고 만료 시각에 맞춰 타이밍 휠에 등록한다.
+ * - 사용 시 만료가 가장 빠른 lot 부터 차감한다.
+ * - 이체로 받은 포인트는 보낸 회원 lot 의 만료 시각을 그대로 이어받는다. (이체를 반복해 유효 기간을 연장할 수 없음)
+ * - lot 으로 추적되지 않는 잔액(원장 도입 이전 잔액 등)은 만료되지 않으며, 가장 오래된 포인트로 보고 먼저 차감한다.
+ * - issue/consume/expire/release 는 PointServiceImpl 이 해당 회원의 다른 변경을 막는 락을 잡은 상태에서만 호출한다.
+ */
+@Component
+public class PointLotLedger {
+
+    private static final Comparator<PointLot> LOT_ORDER =
+            Comparator.comparingLong(PointLot::expireMillis).thenComparingLong(PointLot::issuedMillis);
+
+    private final ConcurrentHashMap<Long, UserLots> lotsByUser = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<PointLot> wheel;
+    private final long validityMillis;
+
+    public PointLotLedger(PointExpiryProperties properties) {
+        this.validityMillis = properties.validity().toMillis();
+        this.wheel = new HierarchicalTimingWheel<>(properties.tick().toMillis(), System.currentTimeMillis());
+    }
+
+    public PointLot issue(long userId, long amount, long issuedMillis) {
+        return issue(userId, amount, issuedMillis, issuedMillis + validityMillis);
+    }
+
+    /**
+     * 만료 시각을 지정해 lot 을 발급한다. (이체로 넘어온 lot)
+     */
+    public PointLot issue(long userId, long amount, long issuedMillis, long expireMillis) {
+        PointLot lot = new PointLot(userId, amount, issuedMillis, expireMillis);
+        UserLots userLots = lotsByUser.computeIfAbsent(userId, id -> new UserLots());
+        userLots.lots.add(lot);
+        userLots.total += amount;
+        synchronized (wheel) {
+            wheel.schedule(lot, lot.expireMillis());
+        }
+        return lot;
+    }
+
+    /**
+     * 만료되지 않은 lot 잔액의 합
+     */
+    public long outstanding(long userId) {
+        UserLots userLots = lotsByUser.get(userId);
+        return userLots == null ? 0 : userLots.total;
+    }
+
+    /**
+     * amount 만큼 사용한다. balance 중 lot 으로 추적되지 않는 부분을 먼저 차감하고, 나머지를 만료가 빠른 lot 부터 차감한다.
+     *
+     * @return lot 별로 차감된 몫 (원래 lot 의 발급/만료 시각을 가진 미등록 lot, 추적되지 않는 잔액은 포함하지 않음)
+     */
+    public List<PointLot> consume(long userId, long amount, long balance) {
+        UserLots userLots = lotsByUser.get(userId);
+        if (userLots == null)
+            return List.of();
+
+        List<PointLot> consumed = new ArrayList<>();
+        long untracked = Math.max(0, balance - userLots.total);
+        long fromLots = Math.min(userLots.total, Math.max(0, amount - untracked));
+        while (fromLots > 0 && !userLots.lots.isEmpty()) {
+            PointLot lot = userLots.lots.peek();
+            long taken = lot.take(fromLots);
+            fromLots -= taken;
+            userLots.total -= taken;
+            consumed.add(new PointLot(userId, taken, lot.issuedMillis(), lot.expireMillis()));
+            if (lot.remaining() == 0)
+                userLots.lots.poll();
+        }
+        return consumed;
+    }
+
+    /**
+     * 만료된 lot 들의 남은 잔액 합. lot 은 변경하지 않는다.
+     * 포인트 저장이 성공한 직후에 expire() 로 실제 소멸시켜야, 저장 실패 시 재시도에서 같은 금액을 다시 만료하고 성공 후에는 두 번 차감하지 않는다.
+     */
+    public long expirable(List<PointLot> lots) {
+        long expirable = 0;
+        for (PointLot lot : lots) {
+            expirable += lot.remaining();
+        }
+        return expirable;
+    }
+
+    /**
+     * 만료된 lot 들의 남은 잔액을 소멸시키고 그 합을 반환한다. (이미 모두 사용된 lot 은 0)
+     */
+    public long expire(long userId, List<PointLot> lots) {
+        UserLots userLots = lotsByUser.get(userId);
+        if (userLots == null)
+            return 0;
+
+        long expired = 0;
+        for (PointLot lot : lots) {
+            long taken = lot.take(lot.remaining());
+            expired += taken;
+            userLots.total -= taken;
+        }
+        while (!userLots.lots.isEmpty() && userLots.lots.peek().remaining() == 0) {
+            userLots.lots.poll();
+        }
+        return expired;
+    }
+
+    /**
+     * 만료되지 않은 lot 을 만료가 빠른 순으로 반환한다.
+     */
+    public List<PointLot> lots(long userId) {
+        UserLots userLots = lotsByUser.get(userId);
+        if (userLots == null)
+            return List.of();
+
+        List<PointLot> lots = new ArrayList<>(userLots.lots);
+        lots.removeIf(lot -> lot.remaining() == 0);
+        lots.sort(LOT_ORDER);
+        return lots;
+    }
+
+    /**
+     * 회원의 lot 을 원장에서 모두 제거한다. (다른 인스턴스로 소유권이 넘어간 회원)
+     * 타이밍 휠에 남은 lot 은 잔액을 0 으로 만들어, 만료 시각이 되어도 소멸할 포인트가 없게 한다.
+     */
+    public void release(long userId) {
+        UserLots userLots = lotsByUser.remove(userId);
+        if (userLots == null)
+            return;
+
+        for (PointLot lot : userLots.lots) {
+            lot.take(lot.remaining());
+        }
+    }
+
+    /**
+     * nowMillis 까지 만료 시각이 지난 lot 을 타이밍 휠에서 꺼낸다.
+     */
+    public List<PointLot> pollExpired(long nowMillis) {
+        synchronized (wheel) {
+            return wheel.advance(nowMillis);
+        }
+    }
+
+    /**
+     * 소멸 처리에 실패한 lot 을 다음 틱에 다시 만료되도록 등록한다.
+     */
+    public void reschedule(List<PointLot> lots) {
+        synchronized (wheel) {
+            for (PointLot lot : lots) {
+                wheel.schedule(lot, lot.expireMillis());
+            }
+        }
+    }
+
+    private static final class UserLots {
+        private final PriorityQueue<PointLot> lots = new PriorityQueue<>(LOT_ORDER);
+        private long total;
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.export;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 포인트 내역 내보내기 포맷
+ * - NDJSON : 한 줄에 PointHistory JSON 하나
+ * - CSV : 헤더 한 줄 + 내역 한 줄씩
+ * PointHistory 필드는 숫자와 enum 뿐이라 escape 없이 직접 기록한다.
+ */
+public enum PointHistoryExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void writeRow(Writer writer, PointHistory history) throws IOException {
+            writer.write("{\"id\":");
+            writer.write(Long.toString(history.id()));
+            writer.write(",\"userId\":");
+            writer.write(Long.toString(history.userId()));
+            writer.write(",\"amount\":");
+            writer.write(Long.toString(history.amount()));
+            writer.write(",\"type\":\"");
+            writer.write(history.type().name());
+            writer.write("\",\"updateMillis\":");
+            writer.write(Long.toString(history.updateMillis()));
+            writer.write("}\n");
+        }
+    },
+
+    CSV("text/csv", "csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("id,userId,amount,type,updateMillis\n");
+        }
+
+        @Override
+        void writeRow(Writer writer, PointHistory history) throws IOException {
+            writer.write(Long.toString(history.id()));
+            writer.write(',');
+            writer.write(Long.toString(history.userId()));
+            writer.write(',');
+            writer.write(Long.toString(history.amount()));
+            writer.write(',');
+            writer.write(history.type().name());
+            writer.write(',');
+            writer.write(Long.toString(history.updateMillis()));
+            writer.write('\n');
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    PointHistoryExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    void writeHeader(Writer writer) throws IOException {
+    }
+
+    abstract void writeRow(Writer writer, PointHistory history) throws IOException;
+}
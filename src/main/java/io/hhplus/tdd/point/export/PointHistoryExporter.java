@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point.export;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 포인트 내역 스트림을 OutputStream 에 그대로 흘려 쓴다.
+ * 내역을 List 로 모으지 않고 한 건씩 고정 크기 버퍼에 기록하므로, 내보내는 건수와 무관하게 메모리 사용량이 일정하다.
+ */
+public final class PointHistoryExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PointHistoryExporter() {
+    }
+
+    /**
+     * @return 기록한 내역 건수
+     */
+    public static long export(Stream<PointHistory> histories, PointHistoryExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(gzipOut != null ? gzipOut : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long count = 0;
+        format.writeHeader(writer);
+        try (histories) {
+            for (PointHistory history : (Iterable<PointHistory>) histories::iterator) {
+                format.writeRow(writer, history);
+                count++;
+            }
+        }
+
+        writer.flush();
+        if (gzipOut != null)
+            gzipOut.finish();
+        return count;
+    }
+}
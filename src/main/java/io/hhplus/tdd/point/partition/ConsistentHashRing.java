@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * userId -> 소유 인스턴스 매핑을 위한 consistent hash ring
+ * - 인스턴스마다 virtualNodes 개의 점을 링 위에 배치하고, userId 해시값에서 시계방향으로 처음 만나는 점의 인스턴스가 소유자가 된다.
+ * - 멤버십이 바뀌면 새 링을 만들어 통째로 교체한다. (조회는 락 없이 volatile 스냅샷만 읽음)
+ * - 멤버 하나가 추가/제거될 때 소유자가 바뀌는 userId 는 전체의 약 1/N 에 그친다.
+ * - 직전 링을 함께 보관해, 이전 소유자가 아직 회원 상태를 넘겨주지 않은 userId 는 이전 소유자로 라우팅한다. (routeOf)
+ *   단, 멤버에서 빠진 이전 소유자는 죽었을 수 있으므로 링 교체 후 handoffDeadline 이 지나면 더 기다리지 않고 새 소유자가 처리한다.
+ */
+public class ConsistentHashRing {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsistentHashRing.class);
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final String self;
+    private final int virtualNodes;
+    private final Duration handoffDeadline;
+    private volatile State state;
+    /*
+        이전 소유자 -> 그 인스턴스가 상태 이전을 마친 멤버 구성
+        현재 멤버 구성과 같아야 해당 인스턴스로부터의 이전이 끝난 것으로 본다.
+        (멤버십 PUT 이 인스턴스마다 다른 시점에 도착하므로, 이 인스턴스가 링을 바꾸기 전에 이전 완료를 먼저 받을 수 있다)
+     */
+    private final Map<String, List<String>> handedOff = new ConcurrentHashMap<>();
+
+    public ConsistentHashRing(String self, Collection<String> members, int virtualNodes) {
+        this(self, members, virtualNodes, Duration.ofMinutes(5));
+    }
+
+    public ConsistentHashRing(String self, Collection<String> members, int virtualNodes, Duration handoffDeadline) {
+        this(normalize(self), virtualNodes, handoffDeadline, normalizeAll(members));
+        log.info("partition ring initialized: self={}, members={}", this.self, state.members());
+    }
+
+    private ConsistentHashRing(String self, int virtualNodes, Duration handoffDeadline, List<String> members) {
+        this.self = self;
+        this.virtualNodes = virtualNodes;
+        this.handoffDeadline = handoffDeadline;
+        NavigableMap<Long, String> ring = build(members, virtualNodes);
+        this.state = new State(ring, ring, members, members, System.currentTimeMillis());
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> members() {
+        return state.members();
+    }
+
+    public String ownerOf(long userId) {
+        return ownerOf(state.ring(), userId);
+    }
+
+    public boolean isOwnedBySelf(long userId) {
+        return self.equals(ownerOf(userId));
+    }
+
+    /**
+     * 요청을 처리할 인스턴스
+     * 자신이 새 소유자지만 이전 소유자가 아직 상태를 넘겨주지 않았다면, 넘겨받을 때까지 이전 소유자가 처리한다.
+     */
+    public String routeOf(long userId) {
+        State snapshot = state;
+        String owner = ownerOf(snapshot.ring(), userId);
+        if (!owner.equals(self))
+            return owner;
+
+        String previousOwner = ownerOf(snapshot.previous(), userId);
+        if (!previousOwner.equals(self) && awaitsHandoff(snapshot, previousOwner))
+            return previousOwner;
+        return owner;
+    }
+
+    public boolean isRoutedToSelf(long userId) {
+        return self.equals(routeOf(userId));
+    }
+
+    /**
+     * from 인스턴스가 memberList 구성으로의 상태 이전을 마쳤음을 기록한다.
+     */
+    public void handedOff(String from, Collection<String> memberList) {
+        handedOff.put(normalize(from), normalizeAll(memberList));
+    }
+
+    public boolean isHandedOff(String from, Collection<String> memberList) {
+        return normalizeAll(memberList).equals(handedOff.get(normalize(from)));
+    }
+
+    /**
+     * 직전 링 교체로 멤버에서 빠진 from 을 handoffDeadline 이 지나 더 기다리지 않기로 했는지
+     * 이미 새 소유자가 처리를 시작했으므로, 그 뒤에 도착한 from 의 상태로 덮어쓰면 안 된다.
+     */
+    public boolean isAbandoned(String from) {
+        State snapshot = state;
+        String member = normalize(from);
+        return snapshot.previousMembers().contains(member) && !snapshot.members().contains(member) && deadlinePassed(snapshot);
+    }
+
+    /**
+     * 현재 링은 그대로 두고, 멤버 구성이 newMembers 일 때의 링을 만든다. (소유자가 바뀌는 userId 계산용)
+     */
+    public ConsistentHashRing preview(Collection<String> newMembers) {
+        return new ConsistentHashRing(self, virtualNodes, handoffDeadline, normalizeAll(newMembers));
+    }
+
+    /**
+     * 멤버십 변경 시 링을 다시 구성한다.
+     * 이미 진행 중인 요청은 이전 스냅샷 기준으로 처리되고, 이후 요청부터 새 소유자로 라우팅된다.
+     */
+    public synchronized void rebalance(Collection<String> newMembers) {
+        List<String> normalized = normalizeAll(newMembers);
+        if (normalized.equals(state.members()))
+            return;
+
+        this.state = new State(build(normalized, virtualNodes), state.ring(), normalized, state.members(), System.currentTimeMillis());
+        log.info("partition ring rebalanced: self={}, members={}", self, normalized);
+    }
+
+    private boolean awaitsHandoff(State snapshot, String previousOwner) {
+        if (snapshot.members().equals(handedOff.get(previousOwner)))
+            return false;
+        return snapshot.members().contains(previousOwner) || !deadlinePassed(snapshot);
+    }
+
+    private boolean deadlinePassed(State snapshot) {
+        return System.currentTimeMillis() - snapshot.rebalancedMillis() >= handoffDeadline.toMillis();
+    }
+
+    private String ownerOf(NavigableMap<Long, String> snapshot, long userId) {
+        if (snapshot.isEmpty())
+            return self;
+
+        Map.Entry<Long, String> entry = snapshot.ceilingEntry(hash(ByteBuffer.allocate(Long.BYTES).putLong(userId).array()));
+        return entry != null ? entry.getValue() : snapshot.firstEntry().getValue();
+    }
+
+    private static NavigableMap<Long, String> build(List<String> members, int virtualNodes) {
+        NavigableMap<Long, String> newRing = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                newRing.put(hash((member + "#" + i).getBytes(StandardCharsets.UTF_8)), member);
+            }
+        }
+        return Collections.unmodifiableNavigableMap(newRing);
+    }
+
+    private static List<String> normalizeAll(Collection<String> members) {
+        return members.stream()
+                .map(ConsistentHashRing::normalize)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 링 교체 시 함께 바뀌는 값 (조회 중 서로 다른 시점의 값이 섞이지 않도록 한 번에 교체)
+     */
+    private record State(NavigableMap<Long, String> ring, NavigableMap<Long, String> previous, List<String> members,
+                         List<String> previousMembers, long rebalancedMillis) {
+    }
+
+    private static long hash(byte[] key) {
+        byte[] digest = MD5.get().digest(key);
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.net.http.HttpClient;
+
+/**
+ * point.partition.enabled=true 일 때만 파티셔닝 계층을 구성한다.
+ * 비활성화 상태(기본값)에서는 모든 요청을 로컬에서 처리하는 단일 인스턴스로 동작한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.partition", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PartitionProperties.class)
+public class PartitionConfig {
+
+    @Bean
+    public ConsistentHashRing consistentHashRing(PartitionProperties properties) {
+        return new ConsistentHashRing(properties.self(), properties.peers(), properties.virtualNodes(), properties.handoffDeadline());
+    }
+
+    /**
+     * JDK HttpClient 는 HTTP/1.1 커넥션을 목적지별로 풀링하여 keep-alive 로 재사용한다.
+     * 인스턴스 간 전달은 모두 이 클라이언트 하나를 공유한다.
+     */
+    @Bean
+    public HttpClient partitionHttpClient(PartitionProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.forwardTimeout())
+                .build();
+    }
+
+    /**
+     * 링 기준으로 소유하지 않는 회원의 변경은 PointService 에서도 거절한다. (이전 링으로 이미 들어와 있던 요청 대비)
+     */
+    @Bean
+    public PartitionRebalancer partitionRebalancer(ConsistentHashRing ring,
+                                                   PointService pointService,
+                                                   HttpClient partitionHttpClient,
+                                                   PartitionProperties properties,
+                                                   ObjectMapper objectMapper) {
+        pointService.restrictTo(ring::isOwnedBySelf);
+        return new PartitionRebalancer(ring, pointService, partitionHttpClient, properties, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PointRoutingFilter> pointRoutingFilter(ConsistentHashRing ring,
+                                                                         HttpClient partitionHttpClient,
+                                                                         PartitionProperties properties,
+                                                                         ObjectMapper objectMapper,
+                                                                         ObjectProvider<Tracer> tracer,
+                                                                         ObjectProvider<Propagator> propagator) {
+        PointRoutingFilter filter = new PointRoutingFilter(ring, partitionHttpClient, properties, objectMapper,
+                tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP));
+        FilterRegistrationBean<PointRoutingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/point/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 파티션 멤버십 조회/변경
+ * 인스턴스 추가/제거 시 모든 인스턴스에 동일한 멤버 목록을 PUT 하면 각자 소유권이 바뀌는 회원의 상태를 새 소유자에게 넘기고 링을 재구성한다.
+ * 인스턴스를 추가할 때는 새 인스턴스에 먼저 PUT 한다. 링을 바꾸지 않은 인스턴스는 넘겨받은 회원도 이전 링 기준으로 거절하기 때문이다.
+ */
+@RestController
+@RequestMapping("/partition")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.partition", name = "enabled", havingValue = "true")
+public class PartitionController {
+
+    private final ConsistentHashRing ring;
+    private final PartitionRebalancer rebalancer;
+
+    @GetMapping("members")
+    public List<String> members() {
+        return ring.members();
+    }
+
+    @PutMapping("members")
+    public List<String> rebalance(
+            @RequestBody List<String> members
+    ) {
+        if (members.isEmpty())
+            throw new RuntimeException("파티션 멤버는 1개 이상이어야 합니다.");
+        return rebalancer.rebalance(members);
+    }
+
+    /**
+     * 이전 소유 인스턴스가 넘긴 회원 상태를 보관한다. (인스턴스 간 호출, 반영은 commit 에서)
+     */
+    @PostMapping("handoff/prepare")
+    public void prepare(
+            @RequestBody PartitionHandoff handoff
+    ) {
+        rebalancer.prepare(handoff);
+    }
+
+    /**
+     * 보관한 회원 상태를 반영한다. (인스턴스 간 호출)
+     * 보내는 쪽은 200 이 아니면 다시 보낸다. 409 는 준비부터, 503 은 그대로 재전송하고 410 은 포기한다.
+     */
+    @PostMapping("handoff/commit")
+    public ResponseEntity<ErrorResponse> commit(
+            @RequestBody PartitionHandoffCommit commit
+    ) {
+        return switch (rebalancer.commit(commit)) {
+            case COMMITTED -> ResponseEntity.ok().build();
+            case BUSY -> error(HttpStatus.SERVICE_UNAVAILABLE, "같은 이전을 반영하는 중입니다.");
+            case NOT_PREPARED -> error(HttpStatus.CONFLICT, "준비되지 않은 이전입니다.");
+            case ABANDONED -> error(HttpStatus.GONE, "이전 대기 기한이 지났습니다.");
+        };
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(String.valueOf(status.value()), message));
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.point.domain.PointUserSnapshot;
+
+import java.util.List;
+
+/**
+ * 멤버십 변경 시 이전 소유 인스턴스(from)가 새 소유 인스턴스로 보내는 회원 상태 묶음 (준비 단계)
+ * 넘길 회원이 없어도 members 구성으로의 이전이 끝났음을 알리기 위해 빈 목록으로 보낸다.
+ */
+public record PartitionHandoff(
+        String from,
+        List<String> members,
+        List<PointUserSnapshot> users
+) {
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.partition;
+
+import java.util.List;
+
+/**
+ * 이전 소유 인스턴스(from)가 링을 바꾼 뒤 보내는 이전 확정
+ * 받는 쪽은 같은 from, members 로 준비해 둔 PartitionHandoff 를 이때 반영한다.
+ */
+public record PartitionHandoffCommit(
+        String from,
+        List<String> members
+) {
+}
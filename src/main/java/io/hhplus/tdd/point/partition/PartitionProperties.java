@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 유저 파티셔닝 설정 (point.partition.*)
+ * - self : 현재 인스턴스의 base URL (예: http://10.0.0.1:8080)
+ * - peers : self 를 포함한 전체 인스턴스 base URL 목록
+ * - virtualNodes : 인스턴스 하나가 해시 링에 차지하는 가상 노드 수
+ * - forwardTimeout : 소유 인스턴스로 요청을 전달할 때의 응답 대기 시간
+ * - handoffTimeout : 멤버십 변경 시 새 소유 인스턴스로 회원 상태를 넘길 때의 응답 대기 시간
+ * - handoffDeadline : 멤버에서 빠진 이전 소유 인스턴스의 상태 이전을 기다리는 시간 (지나면 넘겨받지 못한 채로 새 소유자가 처리)
+ * - handoffRetryInterval : 확정을 보내지 못한 이전의 재전송 주기 (ISO-8601, 예: PT5S)
+ */
+@ConfigurationProperties(prefix = "point.partition")
+public record PartitionProperties(
+        boolean enabled,
+        String self,
+        List<String> peers,
+        int virtualNodes,
+        Duration forwardTimeout,
+        Duration handoffTimeout,
+        Duration handoffDeadline,
+        Duration handoffRetryInterval
+) {
+
+    public PartitionProperties {
+        if (peers == null)
+            peers = List.of();
+        if (virtualNodes < 1)
+            virtualNodes = 128;
+        if (forwardTimeout == null)
+            forwardTimeout = Duration.ofSeconds(3);
+        if (handoffTimeout == null)
+            handoffTimeout = Duration.ofSeconds(30);
+        if (handoffDeadline == null)
+            handoffDeadline = Duration.ofMinutes(5);
+        if (handoffRetryInterval == null)
+            handoffRetryInterval = Duration.ofSeconds(5);
+    }
+}
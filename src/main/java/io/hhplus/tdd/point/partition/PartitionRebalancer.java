@@ -0,0 +1,204 @@
+package io.hhplus.tdd.point.partition;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.domain.PointUserSnapshot;
+import io.hhplus.tdd.point.service.PointService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 멤버십 변경 시 소유자가 바뀌는 회원의 상태를 새 소유 인스턴스로 넘긴 뒤 링을 교체한다. (2단계)
+ * 1. 준비 : 새 링 기준으로 소유하지 않게 되는 회원의 변경을 막고(PointService.restrictTo) 스냅샷을 새 멤버 전원에게 보낸다. (빈 목록 포함)
+ *          받는 쪽은 보관만 하고 반영하지 않는다. 하나라도 실패하면 변경 제한을 되돌리고 예외를 던지며, 어느 인스턴스의 소유권도 바뀌지 않는다.
+ * 2. 확정 : 링을 바꾸고 넘긴 회원을 handedOff 로 표시한 뒤 확정을 보낸다.
+ *          받는 쪽은 보관한 상태를 반영하고 이전 완료를 기록한 뒤에야 해당 회원을 처리하므로, 두 인스턴스가 같은 회원을 동시에 처리하지 않는다.
+ *          확정을 보내지 못하면 보관해 두고 주기적으로 다시 보낸다. 그동안 해당 회원의 요청은 재시도 가능한 오류로 거절된다.
+ * - 전송 중에는 PointService 의 소유권 이전 락을 잡지 않고, 받는 쪽 처리는 rebalance 모니터를 잡지 않는다.
+ *   여러 인스턴스가 동시에 멤버십을 바꿔도 서로의 전송을 기다리지 않는다.
+ * - 받는 쪽은 반영 중 회원 락만 잡는다. 같은 인스턴스의 확정을 이미 반영하는 중이면(응답 지연 후 재전송) 기다리지 않고 503 으로 거절하고,
+ *   보내는 쪽은 이를 확정 실패로 보고 나중에 다시 보낸다.
+ */
+@RequiredArgsConstructor
+public class PartitionRebalancer {
+
+    public static final String PREPARE_PATH = "/partition/handoff/prepare";
+    public static final String COMMIT_PATH = "/partition/handoff/commit";
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRebalancer.class);
+
+    private final ConsistentHashRing ring;
+    private final PointService pointService;
+    private final HttpClient httpClient;
+    private final PartitionProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // 확정을 보내지 못한 이전 (받을 멤버 -> 이전 내용), rebalance 모니터로 보호
+    private final Map<String, PartitionHandoff> uncommitted = new LinkedHashMap<>();
+
+    // 받는 쪽 : 보낸 인스턴스 -> 준비 단계에서 받은 이전 내용
+    private final Map<String, PartitionHandoff> staged = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> committing = new ConcurrentHashMap<>();
+
+    public synchronized List<String> rebalance(List<String> members) {
+        commitPending();
+        ConsistentHashRing next = ring.preview(members);
+        if (uncommitted.keySet().stream().anyMatch(next.members()::contains))
+            throw new RuntimeException("이전 확정을 보내지 못한 인스턴스가 있습니다. 잠시 후 다시 시도해 주세요.");
+        // 멤버에서 빠지는 인스턴스로 확정하지 못한 회원은 새 링의 소유자에게 다시 넘긴다.
+        List<PointUserSnapshot> carried = uncommitted.values().stream()
+                .flatMap(handoff -> handoff.users().stream())
+                .toList();
+
+        pointService.restrictTo(next::isOwnedBySelf);
+        List<PointUserSnapshot> snapshots;
+        Map<String, PartitionHandoff> handoffs;
+        try {
+            snapshots = pointService.snapshotNotOwned();
+            handoffs = handoffsTo(next, Stream.concat(snapshots.stream(), carried.stream()).toList());
+            handoffs.forEach(this::prepare);
+        } catch (RuntimeException e) {
+            pointService.restrictTo(ring::isOwnedBySelf);
+            throw e;
+        }
+
+        ring.rebalance(next.members());
+        pointService.handedOff(snapshots.stream().map(PointUserSnapshot::userId).toList());
+        pointService.takeOver(carried.stream().filter(snapshot -> next.isOwnedBySelf(snapshot.userId())).toList());
+        uncommitted.clear();
+        uncommitted.putAll(handoffs);
+        commitPending();
+        log.info("handed off {} users to new owners ({} uncommitted)", snapshots.size() + carried.size(), uncommitted.size());
+        return ring.members();
+    }
+
+    /**
+     * 확정을 보내지 못한 이전을 다시 보낸다. 받는 쪽이 준비 내용을 잃었으면(409) 준비부터 다시 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${point.partition.handoff-retry-interval:PT5S}")
+    public synchronized void commitPending() {
+        for (Iterator<Map.Entry<String, PartitionHandoff>> it = uncommitted.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, PartitionHandoff> entry = it.next();
+            String member = entry.getKey();
+            PartitionHandoff handoff = entry.getValue();
+            try {
+                int status = commit(member, handoff);
+                if (status == 409) {
+                    prepare(member, handoff);
+                    status = commit(member, handoff);
+                }
+                if (status == 200) {
+                    it.remove();
+                } else if (status == 410) {
+                    log.error("handoff to {} was abandoned by the receiver, {} users are left unowned", member, handoff.users().size());
+                    it.remove();
+                } else {
+                    log.warn("failed to commit handoff to {} ({}), will retry", member, status);
+                }
+            } catch (RuntimeException e) {
+                log.warn("failed to commit handoff to {}, will retry", member, e);
+            }
+        }
+    }
+
+    /**
+     * 받는 쪽 1단계 : 반영하지 않고 보관만 한다. 같은 인스턴스가 다시 보내면 마지막 것으로 바꾼다.
+     */
+    public void prepare(PartitionHandoff handoff) {
+        staged.put(handoff.from(), handoff);
+    }
+
+    /**
+     * 받는 쪽 2단계 : 보관한 상태를 반영하고 이전 완료를 기록한다.
+     * 이미 반영한 확정을 다시 받으면 그대로 성공으로 응답한다. (응답 유실 후 재전송)
+     */
+    public Receipt commit(PartitionHandoffCommit commit) {
+        ReentrantLock lock = committing.computeIfAbsent(commit.from(), from -> new ReentrantLock());
+        if (!lock.tryLock())
+            return Receipt.BUSY;
+        try {
+            if (ring.isHandedOff(commit.from(), commit.members()))
+                return Receipt.COMMITTED;
+            if (ring.isAbandoned(commit.from()))
+                return Receipt.ABANDONED;
+
+            PartitionHandoff handoff = staged.get(commit.from());
+            if (handoff == null || !handoff.members().equals(commit.members()))
+                return Receipt.NOT_PREPARED;
+
+            pointService.takeOver(handoff.users());
+            ring.handedOff(commit.from(), commit.members());
+            staged.remove(commit.from(), handoff);
+            return Receipt.COMMITTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, PartitionHandoff> handoffsTo(ConsistentHashRing next, List<PointUserSnapshot> snapshots) {
+        Map<String, List<PointUserSnapshot>> byOwner = snapshots.stream()
+                .collect(Collectors.groupingBy(snapshot -> next.ownerOf(snapshot.userId())));
+        Map<String, PartitionHandoff> handoffs = new LinkedHashMap<>();
+        for (String member : next.members()) {
+            if (!member.equals(ring.self()))
+                handoffs.put(member, new PartitionHandoff(ring.self(), next.members(), byOwner.getOrDefault(member, List.of())));
+        }
+        return handoffs;
+    }
+
+    private void prepare(String member, PartitionHandoff handoff) {
+        int status = post(member, PREPARE_PATH, handoff);
+        if (status != 200)
+            throw new RuntimeException("포인트 소유권 이전 준비에 실패했습니다: " + member + " (" + status + ")");
+    }
+
+    private int commit(String member, PartitionHandoff handoff) {
+        return post(member, COMMIT_PATH, new PartitionHandoffCommit(handoff.from(), handoff.members()));
+    }
+
+    private int post(String member, String path, Object body) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(member + path))
+                    .timeout(properties.handoffTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("포인트 소유권 이전에 실패했습니다: " + member, e);
+        } catch (IOException e) {
+            throw new RuntimeException("포인트 소유권 이전에 실패했습니다: " + member, e);
+        }
+    }
+
+    /**
+     * 확정 요청 처리 결과 (PartitionController 가 HTTP 상태로 바꾼다)
+     */
+    public enum Receipt {
+        COMMITTED,
+        // 같은 인스턴스의 확정을 반영하는 중 (재시도)
+        BUSY,
+        // 준비 내용이 없거나 다른 멤버 구성의 것 (준비부터 재전송)
+        NOT_PREPARED,
+        // 보낸 인스턴스를 기다리는 기한이 지나 이미 새 소유자로 처리 중
+        ABANDONED
+    }
+}
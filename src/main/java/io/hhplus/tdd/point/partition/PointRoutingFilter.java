@@ -0,0 +1,222 @@
+package io.hhplus.tdd.point.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.domain.PointTransferRequest;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PointController 앞단의 파티셔닝 필터
+ * - /point/{id}/** 요청의 userId 소유 인스턴스가 자기 자신이면 그대로 컨트롤러로 넘긴다.
+ * - 다른 인스턴스 소유라면 keep-alive 커넥션 풀을 공유하는 HttpClient 로 소유 인스턴스에 전달하고 응답을 그대로 돌려준다.
+ * - 전달받은 요청(FORWARDED_HEADER 존재)은 다시 전달하지 않는다. (멤버십 변경 중 라우팅 루프 방지)
+ *   단, 이 인스턴스가 새 소유자인데 이전 소유자의 상태 이전이 끝나지 않았다면 이전 소유자에게 한 번 더 전달한다. (ConsistentHashRing.routeOf)
+ * - 현재 trace context 를 전달 요청 헤더에 실어 소유 인스턴스의 span 이 같은 trace 로 이어지게 한다.
+ * - 이체(POST /point/transfer)는 본문의 fromUserId 소유 인스턴스로 전달한다.
+ *   toUserId 소유자가 다르면 두 회원을 한 인스턴스의 락으로 묶을 수 없으므로 분산 트랜잭션 대신 409 로 거절한다.
+ * - 전체 회원 대상 조회(CROSS_USER_PATHS)는 501 로 거절한다.
+ *   각 인스턴스의 인덱스에는 자신이 처리한 내역만 있어 한 인스턴스의 결과는 일부일 뿐이고,
+ *   내역 id 는 인스턴스마다 따로 매겨지며 이전된 회원의 내역은 옛 소유자에도 남으므로 단순히 합치면 커서가 깨지고 중복이 생긴다.
+ */
+@RequiredArgsConstructor
+public class PointRoutingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-By";
+
+    private static final Logger log = LoggerFactory.getLogger(PointRoutingFilter.class);
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d{1,18})(/.*)?$");
+    private static final String TRANSFER_PATH = "/point/transfer";
+    private static final Set<String> CROSS_USER_PATHS = Set.of("/point/histories", "/point/export");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT);
+
+    private final ConsistentHashRing ring;
+    private final HttpClient httpClient;
+    private final PartitionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (CROSS_USER_PATHS.contains(request.getRequestURI())) {
+            writeError(response, HttpServletResponse.SC_NOT_IMPLEMENTED, "파티셔닝 환경에서는 전체 회원 내역을 조회하거나 내보낼 수 없습니다.");
+            return;
+        }
+
+        boolean forwarded = request.getHeader(FORWARDED_HEADER) != null;
+        if (!forwarded && TRANSFER_PATH.equals(request.getRequestURI()) && "POST".equals(request.getMethod())) {
+            routeTransfer(request, response, filterChain);
+            return;
+        }
+
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long userId = Long.parseLong(matcher.group(1));
+        String owner = ring.routeOf(userId);
+        if (owner.equals(ring.self()) || (forwarded && owner.equals(ring.ownerOf(userId)))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        forward(owner, request, request.getInputStream().readAllBytes(), response);
+    }
+
+    private void routeTransfer(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        PointTransferRequest transfer;
+        try {
+            transfer = objectMapper.readValue(body, PointTransferRequest.class);
+        } catch (IOException e) {
+            // 본문 오류는 컨트롤러가 평소대로 응답하도록 로컬에서 처리한다.
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String owner = ring.routeOf(transfer.fromUserId());
+        if (!owner.equals(ring.routeOf(transfer.toUserId()))) {
+            writeError(response, HttpServletResponse.SC_CONFLICT, "서로 다른 파티션에 속한 회원 간에는 이체할 수 없습니다.");
+            return;
+        }
+        if (owner.equals(ring.self())) {
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        forward(owner, request, body, response);
+    }
+
+    private void forward(String owner, HttpServletRequest request, byte[] body, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        URI target = URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .timeout(properties.forwardTimeout())
+                .header(FORWARDED_HEADER, ring.self())
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null)
+                builder.header(header, value);
+        }
+        Span span = tracer.currentSpan();
+        if (span != null)
+            propagator.inject(span.context(), builder, HttpRequest.Builder::header);
+
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeUnavailable(response, owner, e);
+            return;
+        } catch (IOException e) {
+            writeUnavailable(response, owner, e);
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    private void writeUnavailable(HttpServletResponse response, String owner, Exception cause) throws IOException {
+        log.warn("failed to forward point request to owner {}", owner, cause);
+        writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "포인트 소유 서버에 연결할 수 없습니다.");
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(status), message));
+    }
+
+    /**
+     * 라우팅 판단을 위해 미리 읽은 본문을 컨트롤러가 다시 읽을 수 있게 돌려준다.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
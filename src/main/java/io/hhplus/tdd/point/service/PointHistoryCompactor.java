@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주기적으로 보존 기간이 지난 포인트 내역을 압축 세그먼트로 옮긴다.
+ * 주기는 point.history.compaction-interval (ISO-8601, 예: PT10M) 로 설정한다.
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PointHistoryRetentionProperties.class)
+public class PointHistoryCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryCompactor.class);
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointHistoryRetentionProperties properties;
+
+    @Scheduled(fixedDelayString = "${point.history.compaction-interval:PT10M}", initialDelayString = "${point.history.compaction-interval:PT10M}")
+    public void compact() {
+        long cutoffMillis = System.currentTimeMillis() - properties.retention().toMillis();
+        int compacted = pointHistoryIndex.compact(cutoffMillis, properties.minSegmentSize());
+        if (compacted > 0) {
+            log.info("compacted {} point histories older than {} into segment #{} (hot={}, coldOffHeapBytes={})",
+                    compacted, properties.retention(), pointHistoryIndex.segmentCount(),
+                    pointHistoryIndex.hotSize(), pointHistoryIndex.coldOffHeapBytes());
+        }
+    }
+}
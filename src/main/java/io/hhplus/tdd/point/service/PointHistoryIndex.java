@@ -0,0 +1,309 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 전체 회원의 포인트 내역을 (updateMillis, id) 순으로 정렬해 두는 시간 인덱스
+ * - PointHistoryTable 은 userId 필터 + 전체 스캔만 지원하므로, 내역이 생성될 때 이 인덱스에도 함께 기록한다.
+ * - ConcurrentSkipListMap 기반이라 기간 조회는 O(log n + k) 이고, 락 없이 동시 기록/조회가 가능하다.
+ * - 타입 필터 조회 시 다른 타입을 건너뛰지 않도록 타입별 인덱스를 별도로 유지한다.
+ * - 보존 기간이 지난 내역은 compact() 로 압축 세그먼트(cold)로 옮겨지고, 조회 시 hot/cold 를 시간순으로 병합해 반환한다.
+ *   PointHistoryTable 이 모든 PointHistory 객체를 계속 참조하므로, compact() 로 줄어드는 heap 은 인덱스의 skip list 노드뿐이다.
+ *   (오래된 내역 객체는 heap 에 남고, 세그먼트는 그 off-heap 사본을 추가로 가진다)
+ * - 이 인덱스(세그먼트 포함)를 읽는 것은 기간 조회(/point/histories)와 내보내기(/point/export)뿐이다.
+ *   회원별 조회(/point/{id}/histories)는 PointHistoryTable 을 직접 읽는다.
+ */
+@Component
+public class PointHistoryIndex {
+
+    private final ConcurrentSkipListMap<Key, PointHistory> all = new ConcurrentSkipListMap<>();
+    private final Map<TransactionType, ConcurrentSkipListMap<Key, PointHistory>> byType = new EnumMap<>(TransactionType.class);
+    private volatile List<PointHistorySegment> segments = List.of();
+
+    public PointHistoryIndex() {
+        for (TransactionType type : TransactionType.values()) {
+            byType.put(type, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    public void add(PointHistory history) {
+        Key key = Key.of(history);
+        all.put(key, history);
+        byType.get(history.type()).put(key, history);
+    }
+
+    /**
+     * from 이상 to 미만 기간의 내역을 시간순으로 size 개까지 조회한다.
+     * cursor 가 주어지면 해당 커서가 가리키는 내역 바로 다음부터 조회한다.
+     */
+    public PointHistoryPage findRange(long from, long to, TransactionType type, String cursor, int size) {
+        Iterator<PointHistory> iterator = iterator(Bounds.of(from, to, cursor), type);
+
+        List<PointHistory> histories = new ArrayList<>(Math.min(size, 256));
+        while (histories.size() < size && iterator.hasNext()) {
+            histories.add(iterator.next());
+        }
+
+        String nextCursor = iterator.hasNext() ? Key.of(histories.get(histories.size() - 1)).toCursor() : null;
+        return new PointHistoryPage(histories, nextCursor);
+    }
+
+    /**
+     * from 이상 to 미만 기간의 내역을 시간순으로 지연 순회한다.
+     * 스킵 리스트 뷰와 세그먼트를 그대로 순회하므로 결과를 미리 모으지 않는다.
+     */
+    public Stream<PointHistory> stream(long from, long to) {
+        Iterator<PointHistory> iterator = iterator(Bounds.of(from, to, null), null);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * 내역이 한 건이라도 있는 회원 ID (포인트/lot 변경은 항상 내역을 남기므로, 상태를 가진 회원 전체와 같다)
+     */
+    public Set<Long> userIds() {
+        Set<Long> userIds = new HashSet<>();
+        iterator(Bounds.of(Long.MIN_VALUE, Long.MAX_VALUE, null), null)
+                .forEachRemaining(history -> userIds.add(history.userId()));
+        return userIds;
+    }
+
+    public long size() {
+        long size = all.size();
+        for (PointHistorySegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public int hotSize() {
+        return all.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * cold 세그먼트의 압축 데이터가 차지하는 off-heap 바이트 수
+     */
+    public long coldOffHeapBytes() {
+        long bytes = 0;
+        for (PointHistorySegment segment : segments) {
+            bytes += segment.offHeapBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * cold 세그먼트의 sparse index 가 차지하는 heap 바이트 수
+     */
+    public long coldHeapBytes() {
+        long bytes = 0;
+        for (PointHistorySegment segment : segments) {
+            bytes += segment.sparseIndexBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * cutoffMillis 이전 내역이 minEntries 건 이상이면 하나의 압축 세그먼트로 옮긴다.
+     * 세그먼트 목록을 먼저 교체한 뒤 hot 에서 제거한다.
+     * - 교체 이후 시작한 조회는 새 세그먼트와 hot 양쪽에서 같은 내역을 볼 수 있으나, 병합 단계에서 중복이 제거된다.
+     * - 교체 이전에 시작한 조회는 세그먼트 목록이 바뀐 것을 감지하면 마지막으로 반환한 키 다음부터 다시 연다. (MergingIterator)
+     *
+     * @return 세그먼트로 옮긴 내역 건수
+     */
+    public synchronized int compact(long cutoffMillis, int minEntries) {
+        List<PointHistory> expired = new ArrayList<>(all.headMap(new Key(cutoffMillis, Long.MIN_VALUE), false).values());
+        if (expired.isEmpty() || expired.size() < minEntries)
+            return 0;
+
+        List<PointHistorySegment> next = new ArrayList<>(segments);
+        next.add(PointHistorySegment.encode(expired));
+        segments = List.copyOf(next);
+
+        for (PointHistory history : expired) {
+            Key key = Key.of(history);
+            all.remove(key);
+            byType.get(history.type()).remove(key);
+        }
+        return expired.size();
+    }
+
+    private Iterator<PointHistory> iterator(Bounds bounds, TransactionType type) {
+        return new MergingIterator(bounds, type);
+    }
+
+    private List<Iterator<PointHistory>> sources(List<PointHistorySegment> tier, Bounds bounds, TransactionType type) {
+        NavigableMap<Key, PointHistory> hot = bounds.start().compareTo(bounds.end()) > 0
+                ? Collections.emptyNavigableMap()
+                : (type == null ? all : byType.get(type)).subMap(bounds.start(), bounds.startInclusive(), bounds.end(), false);
+
+        List<Iterator<PointHistory>> sources = new ArrayList<>();
+        for (PointHistorySegment segment : tier) {
+            if (segment.overlaps(bounds.start(), bounds.end()))
+                sources.add(filter(segment.iterator(bounds.start(), bounds.startInclusive(), bounds.end()), type));
+        }
+        sources.add(hot.values().iterator());
+        return sources;
+    }
+
+    private static Iterator<PointHistory> filter(Iterator<PointHistory> source, TransactionType type) {
+        if (type == null)
+            return source;
+        return new Iterator<>() {
+            private PointHistory next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public PointHistory next() {
+                if (next == null)
+                    throw new NoSuchElementException();
+                PointHistory current = next;
+                next = advance();
+                return current;
+            }
+
+            private PointHistory advance() {
+                while (source.hasNext()) {
+                    PointHistory candidate = source.next();
+                    if (candidate.type() == type)
+                        return candidate;
+                }
+                return null;
+            }
+        };
+    }
+
+    record Bounds(Key start, boolean startInclusive, Key end) {
+
+        static Bounds of(long from, long to, String cursor) {
+            Key start = new Key(from, Long.MIN_VALUE);
+            if (cursor != null) {
+                Key after = Key.fromCursor(cursor);
+                if (after.compareTo(start) >= 0)
+                    return new Bounds(after, false, new Key(to, Long.MIN_VALUE));
+            }
+            return new Bounds(start, true, new Key(to, Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * 정렬된 여러 소스(세그먼트들 + hot)를 (updateMillis, id) 순으로 병합한다.
+     * - compact() 진행 중 같은 내역이 양쪽에 존재할 수 있으므로 동일 키는 한 번만 반환한다.
+     * - hot 순회는 약한 일관성이라 compact() 가 제거한 내역을 건너뛴다. 이 내역은 이미 새 세그먼트에 있으므로,
+     *   소스에서 꺼낸 직후 세그먼트 목록이 연 시점과 달라졌으면 마지막으로 반환한 키 다음부터 소스를 다시 연다.
+     */
+    private final class MergingIterator implements Iterator<PointHistory> {
+
+        private record Head(PointHistory history, Key key, Iterator<PointHistory> source) {
+        }
+
+        private final Bounds bounds;
+        private final TransactionType type;
+        private PriorityQueue<Head> heads;
+        private List<PointHistorySegment> tier;
+        private Key lastKey;
+
+        private MergingIterator(Bounds bounds, TransactionType type) {
+            this.bounds = bounds;
+            this.type = type;
+            open();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public PointHistory next() {
+            Head head = heads.poll();
+            if (head == null)
+                throw new NoSuchElementException();
+            lastKey = head.key();
+            pull(head.source());
+            skipDuplicates();
+            if (tier != segments)
+                open();
+            return head.history();
+        }
+
+        private void open() {
+            Bounds remaining = lastKey == null ? bounds : new Bounds(lastKey, false, bounds.end());
+            do {
+                tier = segments;
+                heads = new PriorityQueue<>(Comparator.comparing(Head::key));
+                for (Iterator<PointHistory> source : sources(tier, remaining, type)) {
+                    pull(source);
+                }
+                skipDuplicates();
+            } while (tier != segments);
+        }
+
+        private void pull(Iterator<PointHistory> source) {
+            if (source.hasNext()) {
+                PointHistory history = source.next();
+                heads.add(new Head(history, Key.of(history), source));
+            }
+        }
+
+        private void skipDuplicates() {
+            while (!heads.isEmpty() && lastKey != null && heads.peek().key().equals(lastKey)) {
+                pull(heads.poll().source());
+            }
+        }
+    }
+
+    record Key(long updateMillis, long id) implements Comparable<Key> {
+
+        static Key of(PointHistory history) {
+            return new Key(history.updateMillis(), history.id());
+        }
+
+        static Key fromCursor(String cursor) {
+            int separator = cursor.indexOf(':');
+            try {
+                return new Key(Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("잘못된 커서입니다.");
+            }
+        }
+
+        String toCursor() {
+            return updateMillis + ":" + id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int compared = Long.compare(updateMillis, other.updateMillis);
+            return compared != 0 ? compared : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 보존 설정 (point.history.*)
+ * - retention : 이 기간보다 오래된 내역은 압축 세그먼트로 옮긴다.
+ * - minSegmentSize : 옮길 내역이 이 건수 미만이면 다음 주기로 미룬다. (작은 세그먼트가 난립하지 않도록)
+ */
+@ConfigurationProperties(prefix = "point.history")
+public record PointHistoryRetentionProperties(
+        Duration retention,
+        int minSegmentSize
+) {
+
+    public PointHistoryRetentionProperties {
+        if (retention == null)
+            retention = Duration.ofDays(7);
+        if (minSegmentSize < 1)
+            minSegmentSize = 4096;
+    }
+}
@@ -0,0 +1,241 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.service.PointHistoryIndex.Key;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 보존 기간이 지난 포인트 내역을 압축해 off-heap 에 보관하는 불변 세그먼트
+ * - 내역은 (updateMillis, id) 순으로 정렬된 상태로 인코딩된다.
+ * - updateMillis/id 는 직전 내역과의 차이(delta)로, 모든 값은 varint 로 기록한다. (id/userId/amount 는 zigzag)
+ * - BLOCK_SIZE 건마다 delta 기준값을 초기화하고 블록 시작 위치를 heap 의 sparse index 에 남긴다.
+ *   조회 시 sparse index 를 이분 탐색한 뒤 해당 블록부터만 디코딩한다.
+ * - 디코딩은 ByteBuffer 절대 위치 읽기만 사용하므로 여러 스레드가 동시에 읽어도 안전하다.
+ */
+final class PointHistorySegment {
+
+    static final int BLOCK_SIZE = 64;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ByteBuffer data;
+    private final long[] blockMillis;
+    private final long[] blockIds;
+    private final int[] blockOffsets;
+    private final int size;
+    private final Key maxKey;
+
+    private PointHistorySegment(ByteBuffer data, long[] blockMillis, long[] blockIds, int[] blockOffsets, int size, Key maxKey) {
+        this.data = data;
+        this.blockMillis = blockMillis;
+        this.blockIds = blockIds;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+        this.maxKey = maxKey;
+    }
+
+    /**
+     * @param sorted (updateMillis, id) 순으로 정렬된 1건 이상의 내역
+     */
+    static PointHistorySegment encode(List<PointHistory> sorted) {
+        int blocks = (sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] blockMillis = new long[blocks];
+        long[] blockIds = new long[blocks];
+        int[] blockOffsets = new int[blocks];
+        Encoder encoder = new Encoder(sorted.size() * 8);
+
+        long prevMillis = 0;
+        long prevId = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            PointHistory history = sorted.get(i);
+            if (i % BLOCK_SIZE == 0) {
+                int block = i / BLOCK_SIZE;
+                blockMillis[block] = history.updateMillis();
+                blockIds[block] = history.id();
+                blockOffsets[block] = encoder.length;
+                prevMillis = 0;
+                prevId = 0;
+            }
+            encoder.writeVarLong(history.updateMillis() - prevMillis);
+            encoder.writeVarLong(zigzag(history.id() - prevId));
+            encoder.writeVarLong(zigzag(history.userId()));
+            encoder.writeVarLong(zigzag(history.amount()));
+            encoder.writeByte(history.type().ordinal());
+            prevMillis = history.updateMillis();
+            prevId = history.id();
+        }
+
+        ByteBuffer data = ByteBuffer.allocateDirect(encoder.length);
+        data.put(encoder.buffer, 0, encoder.length).flip();
+        return new PointHistorySegment(data.asReadOnlyBuffer(), blockMillis, blockIds, blockOffsets, sorted.size(),
+                Key.of(sorted.get(sorted.size() - 1)));
+    }
+
+    int size() {
+        return size;
+    }
+
+    Key minKey() {
+        return new Key(blockMillis[0], blockIds[0]);
+    }
+
+    Key maxKey() {
+        return maxKey;
+    }
+
+    /**
+     * 압축 데이터가 차지하는 off-heap 바이트 수
+     */
+    int offHeapBytes() {
+        return data.capacity();
+    }
+
+    /**
+     * sparse index 가 차지하는 heap 바이트 수 (배열 헤더 제외)
+     */
+    long sparseIndexBytes() {
+        return (long) blockMillis.length * (Long.BYTES + Long.BYTES + Integer.BYTES);
+    }
+
+    boolean overlaps(Key start, Key end) {
+        return maxKey.compareTo(start) >= 0 && minKey().compareTo(end) < 0;
+    }
+
+    /**
+     * start 이상(startInclusive=false 이면 초과) end 미만의 내역을 시간순으로 디코딩한다.
+     */
+    Iterator<PointHistory> iterator(Key start, boolean startInclusive, Key end) {
+        return new SegmentIterator(findBlock(start), start, startInclusive, end);
+    }
+
+    private int findBlock(Key start) {
+        int low = 0;
+        int high = blockMillis.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (new Key(blockMillis[mid], blockIds[mid]).compareTo(start) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final class SegmentIterator implements Iterator<PointHistory> {
+
+        private final Key start;
+        private final boolean startInclusive;
+        private final Key end;
+        private int index;
+        private int position;
+        private long prevMillis;
+        private long prevId;
+        private PointHistory next;
+
+        private SegmentIterator(int block, Key start, boolean startInclusive, Key end) {
+            this.start = start;
+            this.startInclusive = startInclusive;
+            this.end = end;
+            this.index = block * BLOCK_SIZE;
+            this.position = blockOffsets[block];
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public PointHistory next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            PointHistory current = next;
+            next = advance();
+            return current;
+        }
+
+        private PointHistory advance() {
+            while (index < size) {
+                PointHistory decoded = decode();
+                Key key = Key.of(decoded);
+                if (key.compareTo(end) >= 0) {
+                    index = size;
+                    return null;
+                }
+                int compared = key.compareTo(start);
+                if (compared > 0 || (compared == 0 && startInclusive))
+                    return decoded;
+            }
+            return null;
+        }
+
+        private PointHistory decode() {
+            if (index % BLOCK_SIZE == 0) {
+                prevMillis = 0;
+                prevId = 0;
+            }
+            long updateMillis = prevMillis + readVarLong();
+            long id = prevId + unzigzag(readVarLong());
+            long userId = unzigzag(readVarLong());
+            long amount = unzigzag(readVarLong());
+            TransactionType type = TYPES[data.get(position++)];
+            prevMillis = updateMillis;
+            prevId = id;
+            index++;
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data.get(position++);
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+    }
+
+    private static final class Encoder {
+
+        private byte[] buffer;
+        private int length;
+
+        private Encoder(int initialCapacity) {
+            this.buffer = new byte[Math.max(initialCapacity, 16)];
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeByte(int value) {
+            if (length == buffer.length)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            buffer[length++] = (byte) value;
+        }
+    }
+}
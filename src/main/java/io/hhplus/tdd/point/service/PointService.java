@@ -1,13 +1,30 @@
 package io.hhplus.tdd.point.service;
 
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointTransferResult;
+import io.hhplus.tdd.point.domain.PointUserSnapshot;
+import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.expiry.PointLot;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
 
 public interface PointService {
     UserPoint findUserPointByUserId(long userId);
     UserPoint charge(long userId, long amount);
     UserPoint usePoint(long userId, long amount);
+    PointTransferResult transfer(long fromUserId, long toUserId, long amount);
+    UserPoint expire(long userId, List<PointLot> lots);
     List<PointHistory> findPointHistoryByUserId(long userId);
+    PointHistoryPage findPointHistories(long from, long to, TransactionType type, String cursor, int size);
+    Stream<PointHistory> streamPointHistories(long from, long to, Set<Long> userIds);
+    void restrictTo(LongPredicate owned);
+    List<PointUserSnapshot> snapshotNotOwned();
+    void handedOff(Collection<Long> userIds);
+    void takeOver(List<PointUserSnapshot> snapshots);
 }
\ No newline at end of file
@@ -3,45 +3,103 @@ package io.hhplus.tdd.point.service.impl;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.PointTransferResult;
+import io.hhplus.tdd.point.domain.PointUserSnapshot;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.expiry.PointLot;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.service.PointHistoryIndex;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.tracing.PointTracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PointServiceImpl implements PointService {
 
     private static final long MAX_POINT = 1000000L;
+    private static final int MAX_PAGE_SIZE = 1000;
     private final UserPointTable userPointTable;
     private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryIndex pointHistoryIndex;
+    private final PointLotLedger pointLotLedger;
+    private final PointTracer pointTracer;
+
+    /*
+        회원별 락
+        - 파티셔닝 시 한 userId 는 하나의 인스턴스만 소유하므로, 분산 락 없이 인스턴스 로컬 락만으로 충전/사용을 직렬화할 수 있다.
+        - 전역 모니터(synchronized) 대신 회원 단위로 락을 나눠 서로 다른 회원의 요청은 병렬로 처리한다.
+        - fair 락으로 먼저 대기한 요청부터 처리한다.
+        - 단, 두 Table 은 HashMap/ArrayList 기반이라 스레드 안전하지 않으므로 Table 호출 자체는 각 Table 모니터로 감싼다.
+     */
+    private final ConcurrentHashMap<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
+
+    /*
+        소유권 이전 락
+        - 포인트를 변경하는 요청은 read 락을 잡고, 이 인스턴스가 변경할 수 있는 회원(owned)이 아니거나 넘겨준 회원(handedOff)이면 거절한다.
+        - owned 는 write 락을 잡고 바꾼다. 진행 중인 변경이 끝난 뒤에 바뀌므로, 이후 만드는 스냅샷은 더 이상 변하지 않는다.
+        - write 락은 owned 를 바꾸는 동안만 잡는다. 스냅샷 생성, 인스턴스 간 전송, 넘겨받은 상태 반영 중에는 잡지 않는다.
+     */
+    private final ReentrantReadWriteLock handOffLock = new ReentrantReadWriteLock();
+    private volatile LongPredicate owned = userId -> true;
+    private final Set<Long> handedOff = ConcurrentHashMap.newKeySet();
 
     @Override
     public UserPoint findUserPointByUserId(long userId) {
         if(userId < 1)
             throw new RuntimeException("잘못된 회원ID입니다.");
-        return userPointTable.selectById(userId);
+        try (PointTracer.Stage ignored = pointTracer.start("userPointTable.selectById")) {
+            synchronized (userPointTable) {
+                return userPointTable.selectById(userId);
+            }
+        }
     }
 
     @Override
-    public synchronized UserPoint charge(long userId, long amount) {
+    public UserPoint charge(long userId, long amount) {
         if(amount < 1)
             throw new RuntimeException("올바른 충전 금액이 아닙니다.");
 
         if(amount % 100 != 0)
             throw new RuntimeException("포인트 충전 단위는 100원입니다.");
 
+        Lock shared = enterOwned(userId);
+        try {
+            ReentrantLock lock = lockOf(userId);
+            acquire(lock);
+            try {
+                return chargeLocked(userId, amount);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    private UserPoint chargeLocked(long userId, long amount) {
         UserPoint storedUserPoint = findUserPointByUserId(userId);
         final long chargePoint = storedUserPoint.point() + amount;
         if (chargePoint > MAX_POINT) {
             throw new RuntimeException("최대 포인트는 100만 포인트여야 합니다.");
         }
 
-        UserPoint result = userPointTable.insertOrUpdate(userId, storedUserPoint.point() + amount);
-        pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
+        UserPoint result = saveUserPoint(userId, storedUserPoint.point() + amount);
+        saveHistory(userId, amount, TransactionType.CHARGE);
+        pointLotLedger.issue(userId, amount, System.currentTimeMillis());
         return result;
     }
 
@@ -50,6 +108,21 @@ public class PointServiceImpl implements PointService {
         if(amount < 1)
             throw new RuntimeException("포인트는 1원 이상 사용해야 합니다.");
 
+        Lock shared = enterOwned(userId);
+        try {
+            ReentrantLock lock = lockOf(userId);
+            acquire(lock);
+            try {
+                return usePointLocked(userId, amount);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    private UserPoint usePointLocked(long userId, long amount) {
         UserPoint storedUserPoint = findUserPointByUserId(userId);
         if (storedUserPoint.point() == 0)
             throw new RuntimeException("사용할 포인트가 없습니다.");
@@ -58,14 +131,269 @@ public class PointServiceImpl implements PointService {
             throw new RuntimeException("포인트가 부족합니다.");
 
         final long remainingPoint = storedUserPoint.point() - amount;
-        UserPoint result = userPointTable.insertOrUpdate(userId, remainingPoint);
-        pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+        UserPoint result = saveUserPoint(userId, remainingPoint);
+        saveHistory(userId, amount, TransactionType.USE);
+        pointLotLedger.consume(userId, amount, storedUserPoint.point());
+        return result;
+    }
+
+    /**
+     * 두 회원의 락을 항상 userId 오름차순으로 잡는다.
+     * A->B, B->A 이체가 동시에 들어와도 락 획득 순서가 같으므로 교착 상태가 생기지 않고,
+     * 서로 겹치지 않는 회원 쌍의 이체는 회원 락에서 서로 기다리지 않는다.
+     * 단, Table 호출은 각 Table 모니터로 직렬화되므로 완전히 병렬로 실행되지는 않는다.
+     * 한 이체의 UserPointTable 호출과 다른 이체의 PointHistoryTable 호출이 겹쳐 실행되는 만큼만 순차 처리보다 빨라진다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount) {
+        if (fromUserId < 1 || toUserId < 1)
+            throw new RuntimeException("잘못된 회원ID입니다.");
+
+        if (fromUserId == toUserId)
+            throw new RuntimeException("자기 자신에게 포인트를 이체할 수 없습니다.");
+
+        if (amount < 1)
+            throw new RuntimeException("포인트는 1원 이상 이체해야 합니다.");
+
+        Lock shared = enterOwned(fromUserId, toUserId);
+        try {
+            ReentrantLock first = lockOf(Math.min(fromUserId, toUserId));
+            ReentrantLock second = lockOf(Math.max(fromUserId, toUserId));
+            acquire(first);
+            try {
+                acquire(second);
+                try {
+                    return transferLocked(fromUserId, toUserId, amount);
+                } finally {
+                    second.unlock();
+                }
+            } finally {
+                first.unlock();
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    private PointTransferResult transferLocked(long fromUserId, long toUserId, long amount) {
+        UserPoint fromUserPoint = findUserPointByUserId(fromUserId);
+        if (fromUserPoint.point() == 0)
+            throw new RuntimeException("사용할 포인트가 없습니다.");
+
+        if (fromUserPoint.point() < amount)
+            throw new RuntimeException("포인트가 부족합니다.");
+
+        UserPoint toUserPoint = findUserPointByUserId(toUserId);
+        if (toUserPoint.point() + amount > MAX_POINT)
+            throw new RuntimeException("최대 포인트는 100만 포인트여야 합니다.");
+
+        UserPoint fromResult = saveUserPoint(fromUserId, fromUserPoint.point() - amount);
+        UserPoint toResult = saveUserPoint(toUserId, toUserPoint.point() + amount);
+        saveHistory(fromUserId, amount, TransactionType.USE);
+        saveHistory(toUserId, amount, TransactionType.CHARGE);
+        // 받는 회원에게 새 lot 을 발급하면 이체만으로 유효 기간이 연장되므로, 보낸 lot 의 만료 시각을 그대로 넘긴다.
+        for (PointLot lot : pointLotLedger.consume(fromUserId, amount, fromUserPoint.point())) {
+            pointLotLedger.issue(toUserId, lot.amount(), lot.issuedMillis(), lot.expireMillis());
+        }
+        return new PointTransferResult(fromResult, toResult);
+    }
+
+    @Override
+    public UserPoint expire(long userId, List<PointLot> lots) {
+        Lock shared = enterOwned();
+        try {
+            ReentrantLock lock = lockOf(userId);
+            acquire(lock);
+            try {
+                // 넘겨준 회원의 lot 은 잔액이 0 으로 정리되어 있어 아무것도 변경하지 않는다. 넘기는 중(스냅샷 이후)이면 다음 틱에 재시도한다.
+                if (!owned.test(userId) && pointLotLedger.expirable(lots) > 0)
+                    throw new RuntimeException("다른 서버로 이전 중인 회원입니다.");
+                return expireLocked(userId, lots);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    private UserPoint expireLocked(long userId, List<PointLot> lots) {
+        /*
+            lot 은 포인트 저장이 성공한 직후에 소멸시킨다.
+            - 포인트 저장이 실패하면 lot 잔액이 그대로 남아 다음 틱 재시도에서 다시 만료된다.
+            - 포인트 저장 후 내역 저장이 실패해도 lot 은 이미 소멸했으므로, 재시도가 같은 금액을 한 번 더 차감하지 않는다.
+         */
+        long expiredPoint = pointLotLedger.expirable(lots);
+        UserPoint storedUserPoint = findUserPointByUserId(userId);
+        if (expiredPoint == 0)
+            return storedUserPoint;
+
+        final long remainingPoint = Math.max(0, storedUserPoint.point() - expiredPoint);
+        UserPoint result = saveUserPoint(userId, remainingPoint);
+        pointLotLedger.expire(userId, lots);
+        saveHistory(userId, storedUserPoint.point() - remainingPoint, TransactionType.EXPIRE);
         return result;
     }
 
+    /**
+     * 이 인스턴스가 변경할 수 있는 회원을 owned 로 제한한다.
+     * 진행 중인 변경이 끝나기를 기다렸다가 바꾸므로, 반환 후에는 owned 가 아닌 회원의 상태가 더 이상 바뀌지 않는다.
+     */
+    @Override
+    public void restrictTo(LongPredicate owned) {
+        Lock exclusive = handOffLock.writeLock();
+        exclusive.lock();
+        try {
+            this.owned = owned;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * 이 인스턴스가 상태를 가진 회원 중 owned 가 아니게 된 회원의 스냅샷 (restrictTo 이후 호출)
+     */
+    @Override
+    public List<PointUserSnapshot> snapshotNotOwned() {
+        LongPredicate current = owned;
+        return pointHistoryIndex.userIds().stream()
+                .filter(userId -> !handedOff.contains(userId) && !current.test(userId))
+                .sorted()
+                .map(this::snapshotOf)
+                .toList();
+    }
+
+    /**
+     * 새 소유 인스턴스가 상태를 받아 두었음을 확인한 뒤 호출한다. lot 을 정리하고 이후 변경 요청을 거절한다.
+     */
+    @Override
+    public void handedOff(Collection<Long> userIds) {
+        for (long userId : userIds) {
+            pointLotLedger.release(userId);
+            handedOff.add(userId);
+        }
+    }
+
+    /**
+     * 다른 인스턴스가 넘긴 회원 상태를 반영한다.
+     * 같은 스냅샷을 다시 받아도 결과가 같다. (이전 확정 재시도)
+     * 반영 대상은 아직 이 인스턴스로 라우팅되지 않는 회원이므로 소유권 이전 락 없이 회원 락만 잡는다.
+     */
+    @Override
+    public void takeOver(List<PointUserSnapshot> snapshots) {
+        for (PointUserSnapshot snapshot : snapshots) {
+            ReentrantLock lock = lockOf(snapshot.userId());
+            acquire(lock);
+            try {
+                takeOverLocked(snapshot);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /*
+        - 포인트와 lot 은 스냅샷 값으로 덮어쓴다.
+        - 내역은 추가만 되므로, 예전에 이 회원을 소유했을 때 남은 내역은 스냅샷 내역의 앞부분과 같다. 그 뒤의 내역만 원래 시각으로 추가한다.
+     */
+    private void takeOverLocked(PointUserSnapshot snapshot) {
+        long userId = snapshot.userId();
+        saveUserPoint(userId, snapshot.point());
+
+        List<PointHistory> histories = snapshot.histories();
+        int stored = Math.min(findPointHistoryByUserId(userId).size(), histories.size());
+        for (PointHistory history : histories.subList(stored, histories.size())) {
+            saveHistory(userId, history.amount(), history.type(), history.updateMillis());
+        }
+
+        pointLotLedger.release(userId);
+        for (PointUserSnapshot.Lot lot : snapshot.lots()) {
+            pointLotLedger.issue(userId, lot.amount(), lot.issuedMillis(), lot.expireMillis());
+        }
+        handedOff.remove(userId);
+    }
+
+    private PointUserSnapshot snapshotOf(long userId) {
+        List<PointUserSnapshot.Lot> lots = pointLotLedger.lots(userId).stream()
+                .map(lot -> new PointUserSnapshot.Lot(lot.remaining(), lot.issuedMillis(), lot.expireMillis()))
+                .toList();
+        return new PointUserSnapshot(userId, findUserPointByUserId(userId).point(), findPointHistoryByUserId(userId), lots);
+    }
+
     @Override
     public List<PointHistory> findPointHistoryByUserId(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        synchronized (pointHistoryTable) {
+            return pointHistoryTable.selectAllByUserId(userId);
+        }
+    }
+
+    @Override
+    public PointHistoryPage findPointHistories(long from, long to, TransactionType type, String cursor, int size) {
+        if (from < 0 || from > to)
+            throw new RuntimeException("잘못된 조회 기간입니다.");
+
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new RuntimeException("조회 건수는 1건 이상 1000건 이하여야 합니다.");
+
+        return pointHistoryIndex.findRange(from, to, type, cursor, size);
+    }
+
+    @Override
+    public Stream<PointHistory> streamPointHistories(long from, long to, Set<Long> userIds) {
+        if (from < 0 || from > to)
+            throw new RuntimeException("잘못된 조회 기간입니다.");
+
+        // 시간 인덱스에는 회원별 접근 경로가 없으므로 userIds 가 있어도 기간 내 전체 내역을 순회하며 거른다.
+        Stream<PointHistory> histories = pointHistoryIndex.stream(from, to);
+        return userIds.isEmpty() ? histories : histories.filter(history -> userIds.contains(history.userId()));
+    }
+
+    private UserPoint saveUserPoint(long userId, long point) {
+        try (PointTracer.Stage ignored = pointTracer.start("userPointTable.insertOrUpdate")) {
+            synchronized (userPointTable) {
+                return userPointTable.insertOrUpdate(userId, point);
+            }
+        }
+    }
+
+    private PointHistory saveHistory(long userId, long amount, TransactionType type) {
+        return saveHistory(userId, amount, type, System.currentTimeMillis());
+    }
+
+    private PointHistory saveHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history;
+        try (PointTracer.Stage ignored = pointTracer.start("pointHistoryTable.insert")) {
+            synchronized (pointHistoryTable) {
+                history = pointHistoryTable.insert(userId, amount, type, updateMillis);
+            }
+        }
+        pointHistoryIndex.add(history);
+        return history;
+    }
+
+    /**
+     * 소유권 이전 락(read)을 잡고, 이 인스턴스가 변경할 수 없거나 이미 넘겨준 회원이 있으면 거절한다.
+     */
+    private Lock enterOwned(long... userIds) {
+        Lock shared = handOffLock.readLock();
+        shared.lock();
+        for (long userId : userIds) {
+            if (!owned.test(userId) || handedOff.contains(userId)) {
+                shared.unlock();
+                throw new RuntimeException("다른 서버로 이전 중이거나 이전된 회원입니다. 잠시 후 다시 시도해 주세요.");
+            }
+        }
+        return shared;
+    }
+
+    private ReentrantLock lockOf(long userId) {
+        return userLocks.computeIfAbsent(userId, id -> new ReentrantLock(true));
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try (PointTracer.Stage ignored = pointTracer.start("pointService.lock")) {
+            lock.lock();
+        }
     }
 }
 
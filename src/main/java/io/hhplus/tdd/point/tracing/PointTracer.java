@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 처리 단계(락 대기, Table 호출 등)를 현재 요청 trace 의 하위 span 으로 기록한다.
+ * try-with-resources 로 감싼 구간이 하나의 span 이 된다.
+ * tracing 이 비활성화된 환경(테스트 등)에서는 NOOP tracer 로 동작한다.
+ */
+@Component
+public class PointTracer {
+
+    private final Tracer tracer;
+
+    public PointTracer(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    public Stage start(String name) {
+        Span span = tracer.nextSpan().name(name).start();
+        Tracer.SpanInScope scope = tracer.withSpan(span);
+        return () -> {
+            scope.close();
+            span.end();
+        };
+    }
+
+    public interface Stage extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.exporter.SpanReporter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 샘플링된 span 을 외부 collector 없이 메모리에서 trace 단위로 모으는 exporter
+ * - 하위 span 은 traceId 별로 모아두고, 요청의 root 인 SERVER span 이 끝나면 하나의 TraceSummary 로 만든다.
+ * - 요청 밖에서 시작된 trace(@Scheduled 만료/압축 작업 등)는 SERVER span 이 없으므로, 그 최상위 span 이 끝날 때 하위 span 과 함께 버린다.
+ *   이런 trace 가 버퍼를 채워 느린 요청이 밀려나지 않도록 하기 위함이다.
+ * - 최근 RECENT_TRACES 건만 보관하고, 조회 시 그중 느린 순으로 반환한다.
+ * - root 가 끝나지 않은 채 PENDING_TTL 이 지난 span 묶음은 버린다.
+ */
+@Component
+public class SlowTraceRecorder implements SpanReporter {
+
+    static final int RECENT_TRACES = 1000;
+    private static final int PENDING_SWEEP_THRESHOLD = 10_000;
+    private static final Duration PENDING_TTL = Duration.ofMinutes(1);
+
+    private final ConcurrentHashMap<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final ArrayDeque<TraceSummary> recent = new ArrayDeque<>(RECENT_TRACES);
+
+    @Override
+    public void report(FinishedSpan span) {
+        if (span.getKind() == Span.Kind.SERVER) {
+            PendingTrace children = pending.remove(span.getTraceId());
+            record(summarize(span, children == null ? List.of() : children.spans()));
+            return;
+        }
+
+        if (span.getParentId() == null) {
+            pending.remove(span.getTraceId());
+            return;
+        }
+
+        pending.computeIfAbsent(span.getTraceId(), id -> new PendingTrace()).add(span);
+        if (pending.size() > PENDING_SWEEP_THRESHOLD)
+            sweep();
+    }
+
+    /**
+     * 최근 완료된 trace 중 소요 시간이 긴 순으로 limit 건을 반환한다.
+     */
+    public List<TraceSummary> slowest(int limit) {
+        List<TraceSummary> snapshot;
+        synchronized (recent) {
+            snapshot = new ArrayList<>(recent);
+        }
+        return snapshot.stream()
+                .sorted(Comparator.comparingLong(TraceSummary::durationMicros).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        pending.clear();
+    }
+
+    private void record(TraceSummary summary) {
+        synchronized (recent) {
+            if (recent.size() == RECENT_TRACES)
+                recent.pollFirst();
+            recent.addLast(summary);
+        }
+    }
+
+    private static TraceSummary summarize(FinishedSpan root, List<FinishedSpan> children) {
+        Instant rootStart = root.getStartTimestamp();
+        List<TraceSummary.Stage> stages = children.stream()
+                .sorted(Comparator.comparing(FinishedSpan::getStartTimestamp))
+                .map(child -> new TraceSummary.Stage(
+                        child.getName(),
+                        micros(rootStart, child.getStartTimestamp()),
+                        micros(child.getStartTimestamp(), child.getEndTimestamp())))
+                .toList();
+        return new TraceSummary(root.getTraceId(), root.getName(), rootStart.toEpochMilli(),
+                micros(rootStart, root.getEndTimestamp()), stages);
+    }
+
+    private static long micros(Instant from, Instant to) {
+        return Duration.between(from, to).toNanos() / 1000;
+    }
+
+    private void sweep() {
+        long expiredBefore = System.nanoTime() - PENDING_TTL.toNanos();
+        pending.values().removeIf(trace -> trace.createdNanos < expiredBefore);
+    }
+
+    private static final class PendingTrace {
+
+        private final long createdNanos = System.nanoTime();
+        private final List<FinishedSpan> spans = new ArrayList<>();
+
+        private synchronized void add(FinishedSpan span) {
+            spans.add(span);
+        }
+
+        private synchronized List<FinishedSpan> spans() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
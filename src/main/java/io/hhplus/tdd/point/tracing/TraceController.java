@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final SlowTraceRecorder slowTraceRecorder;
+
+    /**
+     * 최근 샘플링된 요청 중 느린 순으로 단계별 소요 시간을 조회합니다.
+     */
+    @GetMapping("slowest")
+    public List<TraceSummary> slowest(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > SlowTraceRecorder.RECENT_TRACES)
+            throw new RuntimeException("조회 건수는 1건 이상 1000건 이하여야 합니다.");
+        return slowTraceRecorder.slowest(limit);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.tracing;
+
+import java.util.List;
+
+/**
+ * 완료된 trace 한 건의 요약
+ * - stages : root span 하위 단계들의 시작 순서별 소요 시간 (offsetMicros 는 root 시작 기준)
+ */
+public record TraceSummary(
+        String traceId,
+        String name,
+        long startMillis,
+        long durationMicros,
+        List<Stage> stages
+) {
+
+    public record Stage(
+            String name,
+            long offsetMicros,
+            long durationMicros
+    ) {
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.integration;
+
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PointContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Accept 헤더가 binary 이면 binary 포맷으로 응답해야 한다.")
+    void givenBinaryAccept_whenGetPoint_thenBinaryResponse() throws Exception {
+        // when
+        MvcResult result = mockMvc.perform(get("/point/{id}", 201L).accept(PointBinaryCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryCodec.MEDIA_TYPE))
+                .andReturn();
+
+        // then
+        UserPoint userPoint = PointBinaryCodec.readUserPoint(result.getResponse().getContentAsByteArray());
+        assertThat(userPoint.id()).isEqualTo(201L);
+    }
+
+    @Test
+    @DisplayName("Accept 헤더가 없으면 기존과 같이 JSON 으로 응답해야 한다.")
+    void givenNoAccept_whenGetHistories_thenJsonResponse() throws Exception {
+        mockMvc.perform(get("/point/{id}/histories", 201L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,286 @@
+package io.hhplus.tdd.point.integration;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.partition.ConsistentHashRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * localhost 에 애플리케이션 컨텍스트 3개를 띄워 파티셔닝 라우팅, 상태 이전, 인스턴스 수에 따른 처리량 확장을 검증한다.
+ */
+public class PointPartitionIntegrationTest {
+
+    private static final int NODE_COUNT = 3;
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<String> urls = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private String spareUrl;
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        for (int i = 0; i < NODE_COUNT; i++) {
+            urls.add("http://localhost:" + freePort());
+        }
+        spareUrl = "http://localhost:" + freePort();
+
+        for (String url : urls) {
+            nodes.add(startNode(url, urls));
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("소유자가 아닌 인스턴스로 충전 요청을 보내도 소유 인스턴스에만 포인트가 반영되어야 한다.")
+    void givenNonOwnerNode_whenCharge_thenAppliedOnlyOnOwner() throws Exception {
+        // given
+        ConsistentHashRing ring = nodes.get(0).getBean(ConsistentHashRing.class);
+
+        for (long userId = 1; userId <= 6; userId++) {
+            // when: 항상 첫 번째 인스턴스로 요청
+            HttpResponse<String> response = send(urls.get(0), "PATCH", "/point/" + userId + "/charge", "100");
+
+            // then
+            assertThat(response.statusCode()).isEqualTo(200);
+            String owner = ring.ownerOf(userId);
+            for (int i = 0; i < NODE_COUNT; i++) {
+                long stored = nodes.get(i).getBean(UserPointTable.class).selectById(userId).point();
+                assertThat(stored).isEqualTo(urls.get(i).equals(owner) ? 100L : 0L);
+            }
+        }
+        /*
+            각 인스턴스의 UserPointTable 은 서로 독립된 메모리이므로,
+            소유 인스턴스의 Table 에만 값이 있고 나머지는 비어 있어야 단일 소유 라우팅이 검증된다.
+         */
+    }
+
+    @Test
+    @DisplayName("어느 인스턴스로 조회해도 소유 인스턴스의 포인트가 조회되어야 한다.")
+    void givenChargedUser_whenGetPointFromAnyNode_thenSamePoint() throws Exception {
+        // given
+        long userId = 7L;
+        send(urls.get(1), "PATCH", "/point/" + userId + "/charge", "300");
+
+        // when & then
+        for (String url : urls) {
+            HttpResponse<String> response = send(url, "GET", "/point/" + userId, null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("\"point\":300");
+        }
+    }
+
+    @Test
+    @DisplayName("같은 인스턴스 소유 회원 간 이체는 어느 인스턴스로 보내도 소유 인스턴스에서 처리되어야 한다.")
+    void givenSameOwner_whenTransferFromAnyNode_thenAppliedOnOwner() throws Exception {
+        // given: 첫 번째 인스턴스가 소유하지 않는 같은 소유자의 두 회원
+        ConsistentHashRing ring = nodes.get(0).getBean(ConsistentHashRing.class);
+        long fromUserId = findUser(1000L, userId -> !ring.isOwnedBySelf(userId));
+        String owner = ring.ownerOf(fromUserId);
+        long toUserId = findUser(fromUserId + 1, userId -> ring.ownerOf(userId).equals(owner));
+        send(urls.get(0), "PATCH", "/point/" + fromUserId + "/charge", "1000");
+
+        // when
+        HttpResponse<String> response = send(urls.get(0), "POST", "/point/transfer",
+                "{\"fromUserId\":" + fromUserId + ",\"toUserId\":" + toUserId + ",\"amount\":300}");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        for (int i = 0; i < NODE_COUNT; i++) {
+            UserPointTable table = nodes.get(i).getBean(UserPointTable.class);
+            boolean isOwner = urls.get(i).equals(owner);
+            assertThat(table.selectById(fromUserId).point()).isEqualTo(isOwner ? 700L : 0L);
+            assertThat(table.selectById(toUserId).point()).isEqualTo(isOwner ? 300L : 0L);
+        }
+    }
+
+    @Test
+    @DisplayName("소유 인스턴스가 다른 회원 간 이체는 409 로 거절되고 포인트가 변경되지 않아야 한다.")
+    void givenDifferentOwners_whenTransfer_thenRejected() throws Exception {
+        // given
+        ConsistentHashRing ring = nodes.get(0).getBean(ConsistentHashRing.class);
+        long fromUserId = 2000L;
+        String owner = ring.ownerOf(fromUserId);
+        long toUserId = findUser(fromUserId + 1, userId -> !ring.ownerOf(userId).equals(owner));
+        send(urls.get(0), "PATCH", "/point/" + fromUserId + "/charge", "1000");
+
+        // when
+        HttpResponse<String> response = send(urls.get(0), "POST", "/point/transfer",
+                "{\"fromUserId\":" + fromUserId + ",\"toUserId\":" + toUserId + ",\"amount\":300}");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(409);
+        for (int i = 0; i < NODE_COUNT; i++) {
+            UserPointTable table = nodes.get(i).getBean(UserPointTable.class);
+            assertThat(table.selectById(fromUserId).point()).isEqualTo(urls.get(i).equals(owner) ? 1000L : 0L);
+            assertThat(table.selectById(toUserId).point()).isZero();
+        }
+        /*
+            서로 다른 인스턴스의 회원 락을 하나의 트랜잭션으로 묶을 수 없으므로,
+            한쪽만 반영되는 부분 이체를 막기 위해 요청 단계에서 거절한다.
+         */
+    }
+
+    @Test
+    @DisplayName("인스턴스를 추가하며 기존 인스턴스들의 멤버십을 동시에 바꿔도 소유자가 바뀐 회원의 포인트가 새 소유 인스턴스로 옮겨져야 한다.")
+    void givenChargedUsers_whenAddNode_thenBalancesHandedOff() throws Exception {
+        // given
+        int userCount = 20;
+        for (long userId = 1; userId <= userCount; userId++) {
+            send(urls.get(0), "PATCH", "/point/" + userId + "/charge", String.valueOf(userId * 100));
+        }
+
+        // when: 기존 멤버만 아는 상태로 새 인스턴스를 띄워 먼저 새 멤버 구성을 알리고, 기존 인스턴스들에는 동시에 알린다.
+        ConfigurableApplicationContext spare = startNode(spareUrl, urls);
+        nodes.add(spare);
+        List<String> members = new ArrayList<>(urls);
+        members.add(spareUrl);
+        String body = "[" + members.stream().map(url -> "\"" + url + "\"").collect(Collectors.joining(",")) + "]";
+        assertThat(send(spareUrl, "PUT", "/partition/members", body).statusCode()).isEqualTo(200);
+        List<CompletableFuture<HttpResponse<String>>> rebalances = urls.stream()
+                .map(url -> httpClient.sendAsync(request(url, "PUT", "/partition/members", body), HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        for (CompletableFuture<HttpResponse<String>> rebalance : rebalances) {
+            assertThat(rebalance.get(20, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+
+        // then
+        ConsistentHashRing ring = spare.getBean(ConsistentHashRing.class);
+        UserPointTable spareTable = spare.getBean(UserPointTable.class);
+        List<Long> moved = LongStream.rangeClosed(1, userCount).filter(ring::isOwnedBySelf).boxed().toList();
+        assertThat(moved).isNotEmpty();
+        for (long userId : moved) {
+            assertThat(spareTable.selectById(userId).point()).isEqualTo(userId * 100);
+        }
+        for (String url : members) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                HttpResponse<String> response = send(url, "GET", "/point/" + userId, null);
+                assertThat(response.statusCode()).isEqualTo(200);
+                assertThat(response.body()).contains("\"point\":" + userId * 100);
+            }
+        }
+        /*
+            새 인스턴스의 Table 에 옮겨진 값이 있어야 이전 소유자의 Table 을 우회해 읽은 것이 아님이 검증되고,
+            모든 인스턴스에서 같은 값이 조회되어야 라우팅과 상태 이전이 함께 맞물린 것이 검증된다.
+            기존 인스턴스들은 서로에게 동시에 이전을 보내므로, 전송 중 서로를 기다리면 교착되어 제한 시간 안에 끝나지 않는다.
+         */
+    }
+
+    @Test
+    @DisplayName("파티셔닝 시 전체 회원 내역 기간 조회와 내보내기는 일부 결과 대신 501 로 거절되어야 한다.")
+    void givenPartitioning_whenFindHistories_thenRejected() throws Exception {
+        // given
+        send(urls.get(0), "PATCH", "/point/1/charge", "100");
+
+        // when & then
+        assertThat(send(urls.get(0), "GET", "/point/histories", null).statusCode()).isEqualTo(501);
+        assertThat(send(urls.get(0), "GET", "/point/export", null).statusCode()).isEqualTo(501);
+        assertThat(send(urls.get(0), "GET", "/point/export?userIds=1", null).statusCode()).isEqualTo(501);
+    }
+
+    @Test
+    @DisplayName("회원이 여러 인스턴스에 나뉘면 같은 충전 부하를 인스턴스 1개보다 뚜렷하게 빨리 처리해야 한다.")
+    void givenUsersSpreadAcrossNodes_whenChargeConcurrently_thenScalesWithNodes() throws Exception {
+        // given: 인스턴스마다 같은 수의 회원
+        int usersPerNode = 12;
+        ConsistentHashRing ring = nodes.get(0).getBean(ConsistentHashRing.class);
+        Map<Long, String> owners = new LinkedHashMap<>();
+        for (String url : urls) {
+            long userId = 3000L;
+            for (int i = 0; i < usersPerNode; i++) {
+                userId = findUser(userId + 1, candidate -> ring.ownerOf(candidate).equals(url));
+                owners.put(userId, url);
+            }
+        }
+        ConfigurableApplicationContext single = startNode(spareUrl, List.of(spareUrl));
+        nodes.add(single);
+
+        // when
+        double singleSeconds = chargeConcurrently(owners.keySet().stream().collect(Collectors.toMap(userId -> userId, userId -> spareUrl)));
+        double clusterSeconds = chargeConcurrently(owners);
+
+        // then
+        int chargeCount = owners.size();
+        double speedup = singleSeconds / clusterSeconds;
+        System.out.printf("충전 %d건: 인스턴스 1개 %.2fs (%.2f tps), %d개 %.2fs (%.2f tps), %.2f배%n",
+                chargeCount, singleSeconds, chargeCount / singleSeconds, NODE_COUNT, clusterSeconds, chargeCount / clusterSeconds, speedup);
+        assertThat(speedup).isGreaterThanOrEqualTo(2.0);
+        /*
+            충전 1건은 UserPointTable 호출 2번(평균 약 250ms)과 PointHistoryTable 호출 1번(평균 약 150ms)으로 이뤄지고,
+            Table 모니터는 인스턴스마다 따로 있으므로 인스턴스 하나의 처리량 상한은 약 4건/s 이다.
+            회원이 고르게 나뉘면 기대 배율은 인스턴스 수(3배)에 가깝고, 가장 늦게 끝나는 인스턴스의 무작위 지연 편차를 고려해 목표를 2배로 잡았다.
+         */
+    }
+
+    private double chargeConcurrently(Map<Long, String> targets) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> charges = targets.entrySet().stream()
+                .map(target -> httpClient.sendAsync(request(target.getValue(), "PATCH", "/point/" + target.getKey() + "/charge", "100"),
+                        HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        for (CompletableFuture<HttpResponse<String>> charge : charges) {
+            assertThat(charge.get(60, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private ConfigurableApplicationContext startNode(String url, List<String> peers) {
+        return new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=" + URI.create(url).getPort(),
+                "--point.partition.enabled=true",
+                "--point.partition.self=" + url,
+                "--point.partition.peers=" + String.join(",", peers)
+        );
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long findUser(long startUserId, LongPredicate condition) {
+        long userId = startUserId;
+        while (!condition.test(userId)) {
+            userId++;
+        }
+        return userId;
+    }
+
+    private HttpResponse<String> send(String baseUrl, String method, String path, String body) throws Exception {
+        return httpClient.send(request(baseUrl, method, path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(String baseUrl, String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.integration;
+
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+public class PointTransferIntegrationTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Test
+    @DisplayName("서로 엇갈리는 이체가 동시에 실행되어도 교착 상태 없이 완료되고 포인트 총합이 보존되어야 한다.")
+    void givenCrossingTransfers_whenTransferConcurrently_thenNoDeadlockAndTotalPreserved() throws InterruptedException {
+        /** given */
+        long[] userIds = {101L, 102L, 103L, 104L};
+        long initialPoint = 10000L;
+        for (long userId : userIds) {
+            pointService.charge(userId, initialPoint);
+        }
+
+        int transferCount = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(transferCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(transferCount);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        /** when */
+        for (int i = 0; i < transferCount; i++) {
+            // i 번째 이체와 i+1 번째 이체는 같은 두 회원 사이에서 방향만 반대 (A->B, B->A)
+            long from = userIds[(i / 2) % userIds.length];
+            long to = userIds[(i / 2 + 1) % userIds.length];
+            long fromUserId = i % 2 == 0 ? from : to;
+            long toUserId = i % 2 == 0 ? to : from;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    pointService.transfer(fromUserId, toUserId, 100L);
+                    succeeded.incrementAndGet();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        startLatch.countDown();
+        boolean completed = doneLatch.await(60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        executor.shutdownNow();
+
+        /** then */
+        double throughput = succeeded.get() / elapsedSeconds;
+        System.out.printf("이체 %d건 / %.2fs (%.2f tps)%n", succeeded.get(), elapsedSeconds, throughput);
+
+        assertThat(completed).isTrue();
+        assertThat(succeeded.get()).isEqualTo(transferCount);
+
+        long total = 0;
+        for (long userId : userIds) {
+            total += pointService.findUserPointByUserId(userId).point();
+        }
+        assertThat(total).isEqualTo(initialPoint * userIds.length);
+        /*
+            이 테스트는 교착 상태 검증용이다. 교착 상태가 생기면 doneLatch 가 제한 시간 내에 0이 되지 않아 실패한다.
+            처리량 목표는 아래 순차 처리 대비 테스트에서 검증한다.
+         */
+    }
+
+    @Test
+    @DisplayName("서로 겹치지 않는 회원 쌍의 동시 이체는 같은 건수의 순차 이체보다 1.3배 이상 빨라야 한다.")
+    void givenDisjointPairs_whenTransferConcurrently_thenFasterThanSerial() throws Exception {
+        /** given */
+        int pairCount = 16;
+        long serialBase = 1001L;
+        long concurrentBase = 2001L;
+        for (int i = 0; i < pairCount; i++) {
+            pointService.charge(serialBase + i * 2, 10000L);
+            pointService.charge(concurrentBase + i * 2, 10000L);
+        }
+
+        /** when: 순차 처리 기준선 */
+        long serialStart = System.nanoTime();
+        for (int i = 0; i < pairCount; i++) {
+            pointService.transfer(serialBase + i * 2, serialBase + i * 2 + 1, 100L);
+        }
+        double serialSeconds = (System.nanoTime() - serialStart) / 1e9;
+
+        /** when: 겹치지 않는 회원 쌍을 동시에 이체 */
+        ExecutorService executor = Executors.newFixedThreadPool(pairCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < pairCount; i++) {
+            long fromUserId = concurrentBase + i * 2;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return pointService.transfer(fromUserId, fromUserId + 1, 100L);
+            }));
+        }
+        long concurrentStart = System.nanoTime();
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double concurrentSeconds = (System.nanoTime() - concurrentStart) / 1e9;
+        executor.shutdownNow();
+
+        /** then */
+        double speedup = serialSeconds / concurrentSeconds;
+        System.out.printf("이체 %d건: 순차 %.2fs (%.2f tps), 동시 %.2fs (%.2f tps), %.2f배%n",
+                pairCount, serialSeconds, pairCount / serialSeconds, concurrentSeconds, pairCount / concurrentSeconds, speedup);
+        assertThat(speedup).isGreaterThanOrEqualTo(1.3);
+        /*
+            이체 1건은 UserPointTable 호출 4번(조회 2, 저장 2, 평균 약 500ms)과 PointHistoryTable 호출 2번(평균 약 300ms)으로 이뤄진다.
+            Table 마다 모니터로 직렬화되므로 동시 처리의 상한은 UserPointTable 쪽 합계이고, 기대 배율은 약 800/500 = 1.6배다.
+            무작위 지연의 편차를 고려해 목표를 1.3배로 잡았다.
+         */
+    }
+}
@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.partition.ConsistentHashRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+
+    @Test
+    @DisplayName("같은 멤버 구성이면 어느 인스턴스에서 계산해도 userId의 소유자가 같아야 한다.")
+    void givenSameMembers_whenOwnerOf_thenEveryInstanceAgrees() {
+        // given
+        ConsistentHashRing ringA = new ConsistentHashRing("http://node-a:8080", MEMBERS, 128);
+        ConsistentHashRing ringC = new ConsistentHashRing("http://node-c:8080/", List.of("http://node-c:8080", "http://node-b:8080", "http://node-a:8080/"), 128);
+
+        // when & then
+        for (long userId = 1; userId <= 1000; userId++) {
+            assertThat(ringA.ownerOf(userId)).isEqualTo(ringC.ownerOf(userId));
+        }
+        /*
+            멤버 입력 순서나 trailing slash 가 달라도 동일한 링이 만들어져야 인스턴스 간 라우팅이 일치한다.
+         */
+    }
+
+    @Test
+    @DisplayName("userId는 멤버들에게 고르게 분산되어야 한다.")
+    void givenManyUsers_whenOwnerOf_thenDistributedEvenly() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing("http://node-a:8080", MEMBERS, 128);
+        int userCount = 30000;
+
+        // when
+        Map<String, Integer> owned = new HashMap<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            owned.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(owned).hasSize(3);
+        assertThat(owned.values()).allSatisfy(count ->
+                assertThat(count).isBetween(userCount / 3 * 8 / 10, userCount / 3 * 12 / 10));
+    }
+
+    @Test
+    @DisplayName("멤버가 추가되면 새 멤버에게 넘어가는 userId만 소유자가 바뀌어야 한다.")
+    void givenNewMember_whenRebalance_thenOnlyMovedUsersChangeOwner() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing("http://node-a:8080", MEMBERS, 128);
+        int userCount = 30000;
+        Map<Long, String> before = new HashMap<>();
+        for (long userId = 1; userId <= userCount; userId++) {
+            before.put(userId, ring.ownerOf(userId));
+        }
+
+        // when
+        String newMember = "http://node-d:8080";
+        ring.rebalance(List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080", newMember));
+
+        // then
+        int moved = 0;
+        for (long userId = 1; userId <= userCount; userId++) {
+            String owner = ring.ownerOf(userId);
+            if (!owner.equals(before.get(userId))) {
+                assertThat(owner).isEqualTo(newMember);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(userCount / 4 * 7 / 10, userCount / 4 * 13 / 10);
+        /*
+            기존 멤버 사이에서는 소유권 이동이 없어야 하고, 전체의 약 1/4 만 새 멤버로 이동해야 한다.
+         */
+    }
+
+    @Test
+    @DisplayName("멤버에서 빠진 이전 소유자는 기한이 지나면 기다리지 않고, 남아 있는 이전 소유자는 이전 완료까지 기다려야 한다.")
+    void givenRemovedPreviousOwner_whenDeadlinePassed_thenNewOwnerServes() {
+        // given
+        String newMember = "http://node-d:8080";
+        ConsistentHashRing ring = new ConsistentHashRing(newMember, MEMBERS, 128, Duration.ZERO);
+        List<String> next = List.of("http://node-a:8080", "http://node-b:8080", newMember);
+        ConsistentHashRing preview = ring.preview(next);
+        long fromRemoved = -1;
+        long fromRemaining = -1;
+        for (long userId = 1; fromRemoved < 0 || fromRemaining < 0; userId++) {
+            if (!preview.isOwnedBySelf(userId))
+                continue;
+            if (ring.ownerOf(userId).equals("http://node-c:8080"))
+                fromRemoved = userId;
+            else
+                fromRemaining = userId;
+        }
+        String remainingOwner = ring.ownerOf(fromRemaining);
+
+        // when
+        ring.rebalance(next);
+
+        // then
+        assertThat(ring.routeOf(fromRemoved)).isEqualTo(newMember);
+        assertThat(ring.isAbandoned("http://node-c:8080")).isTrue();
+        assertThat(ring.routeOf(fromRemaining)).isEqualTo(remainingOwner);
+        assertThat(ring.isAbandoned(remainingOwner)).isFalse();
+
+        ring.handedOff(remainingOwner, next);
+        assertThat(ring.routeOf(fromRemaining)).isEqualTo(newMember);
+        /*
+            죽은 인스턴스를 멤버에서 빼면 이전 완료가 영영 오지 않으므로 기한 후 새 소유자가 처리하고, 늦게 온 이전은 거절한다.
+            멤버로 남은 인스턴스는 확정을 다시 보내므로 기한과 관계없이 기다린다.
+         */
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.expiry.HierarchicalTimingWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000L;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("만료 시각이 되기 전에는 항목이 반환되지 않아야 한다.")
+    void givenFutureDeadline_whenAdvanceBefore_thenNothingExpires() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule("a", START + 5 * TICK);
+
+        // when
+        List<String> expired = wheel.advance(START + 4 * TICK);
+
+        // then
+        assertThat(expired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상위 레벨에 등록된 항목도 만료 틱에 정확히 반환되어야 한다.")
+    void givenDeadlinesAcrossLevels_whenAdvance_thenExpireInOrderAtExactTick() {
+        // given
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 4097, 300_000, 86_400 * 30};
+        for (long delay : delays) {
+            wheel.schedule(delay, START + delay * TICK);
+        }
+
+        // when & then
+        List<Long> expired = new ArrayList<>();
+        for (long delay : delays) {
+            assertThat(wheel.advance(START + (delay - 1) * TICK)).isEmpty();
+            List<Long> due = wheel.advance(START + delay * TICK);
+            assertThat(due).containsExactly(delay);
+            expired.addAll(due);
+        }
+        assertThat(expired).containsExactly(1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 300_000L, 86_400L * 30);
+        assertThat(wheel.size()).isZero();
+        /*
+            64, 4096 처럼 레벨 경계에 걸친 지연값을 넣어 cascade 시점에 항목이 누락되거나 일찍 만료되지 않는지 검증한다.
+         */
+    }
+
+    @Test
+    @DisplayName("이미 지난 시각으로 등록하면 다음 틱에 만료되어야 한다.")
+    void givenPastDeadline_whenAdvanceOneTick_thenExpires() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule("late", START - 10 * TICK);
+
+        // when
+        List<String> expired = wheel.advance(START + TICK);
+
+        // then
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("[벤치마크] 백만 개의 항목을 등록하고 모두 만료시킬 수 있어야 한다.")
+    void benchmarkMillionEntries() {
+        // given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        int count = 1_000_000;
+
+        // when
+        long scheduleStart = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            wheel.schedule(i, START + (1 + i % 100_000) * TICK);
+        }
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+
+        long advanceStart = System.nanoTime();
+        int expired = 0;
+        for (long tick = 1; tick <= 100_000; tick += 1000) {
+            expired += wheel.advance(START + (tick + 999) * TICK).size();
+        }
+        long advanceNanos = System.nanoTime() - advanceStart;
+
+        // then
+        System.out.printf("schedule %.1f ns/entry, expire %.1f ns/entry%n",
+                (double) scheduleNanos / count, (double) advanceNanos / count);
+        assertThat(expired).isEqualTo(count);
+        assertThat(wheel.size()).isZero();
+    }
+}
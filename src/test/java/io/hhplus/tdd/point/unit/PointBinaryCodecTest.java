@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointBinaryCodecTest {
+
+    @Test
+    @DisplayName("UserPoint 를 binary 로 기록한 뒤 읽으면 원본과 같아야 한다.")
+    void givenUserPoint_whenWriteAndRead_thenSame() throws Exception {
+        // given
+        UserPoint userPoint = new UserPoint(1L, 1_000_000L, 1_700_000_000_000L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        PointBinaryCodec.writeUserPoint(userPoint, out);
+
+        // then
+        assertThat(PointBinaryCodec.readUserPoint(out.toByteArray())).isEqualTo(userPoint);
+    }
+
+    @Test
+    @DisplayName("버퍼 크기를 넘는 내역 목록도 순서와 값이 그대로 복원되어야 한다.")
+    void givenLargeHistoryList_whenWriteAndRead_thenSame() throws Exception {
+        // given
+        List<PointHistory> histories = histories(20_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        PointBinaryCodec.writeHistories(histories, out);
+
+        // then
+        assertThat(PointBinaryCodec.readHistories(out.toByteArray())).containsExactlyElementsOf(histories);
+    }
+
+    @Test
+    @DisplayName("[벤치마크] binary 포맷은 JSON 보다 작고 빠르게 직렬화되어야 한다.")
+    void benchmarkAgainstJson() throws Exception {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<PointHistory> histories = histories(10_000);
+        int iterations = 200;
+
+        // warm-up
+        for (int i = 0; i < 50; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), histories);
+            PointBinaryCodec.writeHistories(histories, OutputStream.nullOutputStream());
+        }
+
+        // when
+        long jsonStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), histories);
+        }
+        long jsonNanos = (System.nanoTime() - jsonStart) / iterations;
+
+        long binaryStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            PointBinaryCodec.writeHistories(histories, OutputStream.nullOutputStream());
+        }
+        long binaryNanos = (System.nanoTime() - binaryStart) / iterations;
+
+        int jsonBytes = objectMapper.writeValueAsBytes(histories).length;
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        PointBinaryCodec.writeHistories(histories, binary);
+
+        // then
+        System.out.printf("내역 %d건: JSON %d bytes / %.2f ms, binary %d bytes / %.2f ms%n",
+                histories.size(), jsonBytes, jsonNanos / 1e6, binary.size(), binaryNanos / 1e6);
+        assertThat(binary.size()).isLessThan(jsonBytes / 5);
+        /*
+            직렬화 시간은 실행 환경에 따라 흔들리므로 출력만 하고, payload 크기만 검증한다.
+         */
+    }
+
+    private static List<PointHistory> histories(int count) {
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            TransactionType type = id % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(id, 1L, (id % 10 + 1) * 100L, type, 1_700_000_000_000L + id * 137L));
+        }
+        return histories;
+    }
+}
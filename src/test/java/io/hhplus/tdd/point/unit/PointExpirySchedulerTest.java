@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointExpiryScheduler;
+import io.hhplus.tdd.point.expiry.PointLot;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.service.PointHistoryIndex;
+import io.hhplus.tdd.point.service.impl.PointServiceImpl;
+import io.hhplus.tdd.point.tracing.PointTracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PointExpirySchedulerTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @Mock
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Mock
+    private PointTracer pointTracer;
+
+    private PointLotLedger ledger;
+    private PointExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new PointLotLedger(new PointExpiryProperties(Duration.ofMillis(1), Duration.ofMillis(1)));
+        PointServiceImpl pointService = new PointServiceImpl(userPointTable, pointHistoryTable, pointHistoryIndex, ledger, pointTracer);
+        scheduler = new PointExpiryScheduler(ledger, pointService);
+    }
+
+    @Test
+    @DisplayName("포인트 저장에 실패하면 lot 이 소멸되지 않고, 다음 틱 재시도에서 같은 금액이 차감되어야 한다.")
+    void givenTableFailure_whenExpireRetried_thenPointStillDeducted() throws InterruptedException {
+        // given
+        PointLot lot = ledger.issue(USER_ID, 1000L, System.currentTimeMillis());
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1000L, 12345L));
+        when(userPointTable.insertOrUpdate(USER_ID, 0L))
+                .thenThrow(new RuntimeException("저장 실패"))
+                .thenReturn(new UserPoint(USER_ID, 0L, 12345L));
+
+        // when: 첫 틱은 저장 실패
+        Thread.sleep(5);
+        scheduler.expire();
+
+        // then: lot 잔액이 그대로 남아 있어야 한다.
+        assertThat(lot.remaining()).isEqualTo(1000L);
+        assertThat(ledger.outstanding(USER_ID)).isEqualTo(1000L);
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), eq(TransactionType.EXPIRE), anyLong());
+
+        // when: 다음 틱 재시도
+        Thread.sleep(5);
+        scheduler.expire();
+
+        // then
+        assertThat(lot.remaining()).isZero();
+        assertThat(ledger.outstanding(USER_ID)).isZero();
+        verify(userPointTable, times(2)).insertOrUpdate(USER_ID, 0L);
+        verify(pointHistoryTable, times(1)).insert(eq(USER_ID), eq(1000L), eq(TransactionType.EXPIRE), anyLong());
+    }
+
+    @Test
+    @DisplayName("포인트 저장 후 내역 저장에 실패해도, 재시도에서 포인트가 한 번 더 차감되지 않아야 한다.")
+    void givenHistoryFailure_whenExpireRetried_thenPointNotDeductedTwice() throws InterruptedException {
+        // given
+        PointLot lot = ledger.issue(USER_ID, 1000L, System.currentTimeMillis());
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1000L, 12345L));
+        when(userPointTable.insertOrUpdate(USER_ID, 0L)).thenReturn(new UserPoint(USER_ID, 0L, 12345L));
+        when(pointHistoryTable.insert(eq(USER_ID), eq(1000L), eq(TransactionType.EXPIRE), anyLong()))
+                .thenThrow(new RuntimeException("저장 실패"));
+
+        // when: 첫 틱은 내역 저장 실패, 다음 틱 재시도
+        Thread.sleep(5);
+        scheduler.expire();
+        Thread.sleep(5);
+        scheduler.expire();
+
+        // then
+        assertThat(lot.remaining()).isZero();
+        assertThat(ledger.outstanding(USER_ID)).isZero();
+        verify(userPointTable, times(1)).insertOrUpdate(anyLong(), anyLong());
+        /*
+            selectById 는 항상 차감 전 잔액(1000)을 돌려주므로,
+            재시도가 lot 잔액을 다시 만료했다면 insertOrUpdate 가 두 번 호출되어 실패한다.
+         */
+    }
+}
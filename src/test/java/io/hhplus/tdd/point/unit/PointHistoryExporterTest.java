@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.export.PointHistoryExportFormat;
+import io.hhplus.tdd.point.export.PointHistoryExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointHistoryExporterTest {
+
+    private Stream<PointHistory> histories() {
+        return Stream.of(
+                new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1000L),
+                new PointHistory(2L, 2L, 500L, TransactionType.USE, 2000L)
+        );
+    }
+
+    @Test
+    @DisplayName("NDJSON 포맷은 내역 한 건당 JSON 한 줄을 기록해야 한다.")
+    void givenNdjson_whenExport_thenOneJsonPerLine() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = PointHistoryExporter.export(histories(), PointHistoryExportFormat.NDJSON, false, out);
+
+        // then
+        assertThat(count).isEqualTo(2L);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"userId\":1,\"amount\":1000,\"type\":\"CHARGE\",\"updateMillis\":1000}\n" +
+                "{\"id\":2,\"userId\":2,\"amount\":500,\"type\":\"USE\",\"updateMillis\":2000}\n");
+    }
+
+    @Test
+    @DisplayName("CSV 포맷은 헤더 다음에 내역을 한 줄씩 기록해야 한다.")
+    void givenCsv_whenExport_thenHeaderAndRows() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        PointHistoryExporter.export(histories(), PointHistoryExportFormat.CSV, false, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,userId,amount,type,updateMillis\n" +
+                "1,1,1000,CHARGE,1000\n" +
+                "2,2,500,USE,2000\n");
+    }
+
+    @Test
+    @DisplayName("gzip 옵션을 사용하면 압축을 풀었을 때 원본과 같아야 한다.")
+    void givenGzip_whenExport_thenDecompressedContentMatches() throws Exception {
+        // given
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        PointHistoryExporter.export(manyHistories(), PointHistoryExportFormat.CSV, false, plain);
+
+        // when
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        PointHistoryExporter.export(manyHistories(), PointHistoryExportFormat.CSV, true, compressed);
+
+        // then
+        byte[] decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())).readAllBytes();
+        assertThat(decompressed).isEqualTo(plain.toByteArray());
+        assertThat(compressed.size()).isLessThan(plain.size());
+    }
+
+    private Stream<PointHistory> manyHistories() {
+        return LongStream.rangeClosed(1, 10000)
+                .mapToObj(id -> new PointHistory(id, id % 100, 100L, TransactionType.CHARGE, id));
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.service.PointHistoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointHistoryIndexTest {
+
+    private PointHistoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PointHistoryIndex();
+        // 시간 순서와 다르게 기록되어도 (updateMillis, id) 순으로 정렬되어야 한다.
+        index.add(new PointHistory(3L, 2L, 500L, TransactionType.USE, 2000L));
+        index.add(new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, 1000L));
+        index.add(new PointHistory(2L, 2L, 1000L, TransactionType.CHARGE, 1000L));
+        index.add(new PointHistory(4L, 1L, 200L, TransactionType.USE, 3000L));
+        index.add(new PointHistory(5L, 3L, 300L, TransactionType.CHARGE, 4000L));
+    }
+
+    @Test
+    @DisplayName("기간 조회 시 from 이상 to 미만의 내역만 시간순으로 반환해야 한다.")
+    void givenRange_whenFindRange_thenReturnHistoriesInTimeOrder() {
+        // when
+        PointHistoryPage result = index.findRange(1000L, 4000L, null, null, 10);
+
+        // then
+        assertThat(result.histories()).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("타입을 지정하면 해당 타입의 내역만 반환해야 한다.")
+    void givenType_whenFindRange_thenReturnOnlyThatType() {
+        // when
+        PointHistoryPage result = index.findRange(0L, Long.MAX_VALUE, TransactionType.USE, null, 10);
+
+        // then
+        assertThat(result.histories()).extracting(PointHistory::id).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("커서로 이어서 조회하면 누락이나 중복 없이 모든 내역을 반환해야 한다.")
+    void givenCursor_whenFindNextPages_thenReturnAllWithoutDuplicates() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+
+        // when
+        do {
+            PointHistoryPage page = index.findRange(0L, Long.MAX_VALUE, null, cursor, 2);
+            page.histories().forEach(history -> ids.add(history.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // then
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 예외가 발생한다.")
+    void givenInvalidCursor_whenFindRange_thenThrowException() {
+        assertThatThrownBy(() -> index.findRange(0L, Long.MAX_VALUE, null, "invalid", 10))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("잘못된 커서입니다.");
+    }
+}
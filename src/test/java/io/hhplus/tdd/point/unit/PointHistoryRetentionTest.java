@@ -0,0 +1,175 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.service.PointHistoryIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointHistoryRetentionTest {
+
+    private static final int HISTORY_COUNT = 1000;
+
+    private PointHistoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PointHistoryIndex();
+        for (long id = 1; id <= HISTORY_COUNT; id++) {
+            index.add(history(id));
+        }
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 내역은 세그먼트로 옮겨지고 hot 에서는 제거되어야 한다.")
+    void givenOldHistories_whenCompact_thenMovedToSegment() {
+        // when
+        int compacted = index.compact(history(601).updateMillis(), 1);
+
+        // then
+        assertThat(compacted).isEqualTo(600);
+        assertThat(index.segmentCount()).isEqualTo(1);
+        assertThat(index.hotSize()).isEqualTo(400);
+        assertThat(index.size()).isEqualTo(HISTORY_COUNT);
+    }
+
+    @Test
+    @DisplayName("옮길 내역이 최소 건수보다 적으면 세그먼트를 만들지 않아야 한다.")
+    void givenFewOldHistories_whenCompact_thenSkipped() {
+        // when
+        int compacted = index.compact(history(11).updateMillis(), 100);
+
+        // then
+        assertThat(compacted).isZero();
+        assertThat(index.segmentCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("hot/cold 에 나뉜 내역도 커서 조회 시 시간순으로 누락 없이 반환되어야 한다.")
+    void givenHotAndColdHistories_whenPaging_thenSameAsBeforeCompaction() {
+        // given
+        List<PointHistory> before = readAll(null);
+        List<PointHistory> beforeUse = readAll(TransactionType.USE);
+        index.compact(history(301).updateMillis(), 1);
+        index.compact(history(701).updateMillis(), 1);
+
+        // when
+        List<PointHistory> after = readAll(null);
+        List<PointHistory> afterUse = readAll(TransactionType.USE);
+
+        // then
+        assertThat(index.segmentCount()).isEqualTo(2);
+        assertThat(after).containsExactlyElementsOf(before);
+        assertThat(afterUse).containsExactlyElementsOf(beforeUse);
+        /*
+            페이지 크기(37)를 블록 크기와 어긋나게 두어 세그먼트 블록 중간에서 커서가 이어지는 경우도 검증한다.
+         */
+    }
+
+    @Test
+    @DisplayName("기간 조회는 세그먼트 내부의 경계도 정확히 지켜야 한다.")
+    void givenColdHistories_whenFindRange_thenRespectBounds() {
+        // given
+        index.compact(history(801).updateMillis(), 1);
+
+        // when
+        PointHistoryPage page = index.findRange(history(100).updateMillis(), history(105).updateMillis(), null, null, 100);
+
+        // then
+        assertThat(page.histories()).extracting(PointHistory::id).containsExactly(100L, 101L, 102L, 103L, 104L);
+    }
+
+    @Test
+    @DisplayName("순회 도중 compact 가 일어나도 스트림은 내역을 누락하거나 중복 없이 끝까지 반환해야 한다.")
+    void givenHalfConsumedStream_whenCompact_thenNoHistoryLost() {
+        // given
+        Iterator<PointHistory> iterator = index.stream(0L, Long.MAX_VALUE).iterator();
+        List<Long> ids = new ArrayList<>();
+        while (ids.size() < 200) {
+            ids.add(iterator.next().id());
+        }
+
+        // when: 아직 읽지 않은 201~600 이 hot 에서 빠져 세그먼트로 옮겨진다.
+        index.compact(history(601).updateMillis(), 1);
+        while (ids.size() < 700) {
+            ids.add(iterator.next().id());
+        }
+        index.compact(history(901).updateMillis(), 1);
+        iterator.forEachRemaining(history -> ids.add(history.id()));
+
+        // then
+        assertThat(index.segmentCount()).isEqualTo(2);
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, HISTORY_COUNT).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("[벤치마크] 실행 중에는 Table 이 내역 객체를 계속 보유하므로, 세그먼트로 옮겨도 줄어드는 것은 인덱스 노드뿐이다.")
+    void benchmarkHeapFootprint() {
+        // given: 애플리케이션과 같이 Table(여기서는 리스트)이 모든 내역 객체를 참조하는 상태에서 측정한다.
+        int count = 500_000;
+        long heapBefore = usedHeap();
+        List<PointHistory> table = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            table.add(history(id));
+        }
+        long tableHeapBytes = usedHeap() - heapBefore;
+
+        PointHistoryIndex large = new PointHistoryIndex();
+        table.forEach(large::add);
+        long hotIndexHeapBytes = usedHeap() - heapBefore - tableHeapBytes;
+
+        // when
+        large.compact(Long.MAX_VALUE, 1);
+        long coldIndexHeapBytes = usedHeap() - heapBefore - tableHeapBytes;
+
+        // then
+        double offHeapPerEntry = (double) large.coldOffHeapBytes() / count;
+        double sparseIndexPerEntry = (double) large.coldHeapBytes() / count;
+        System.out.printf("table heap/entry ≈ %.1f B (유지됨), hot index heap/entry ≈ %.1f B, cold index heap/entry ≈ %.1f B, " +
+                        "cold off-heap/entry = %.2f B (사본 추가), cold sparse index/entry = %.2f B%n",
+                (double) tableHeapBytes / count, (double) hotIndexHeapBytes / count, (double) coldIndexHeapBytes / count,
+                offHeapPerEntry, sparseIndexPerEntry);
+
+        assertThat(table).hasSize(count);
+        assertThat(large.hotSize()).isZero();
+        assertThat(large.size()).isEqualTo(count);
+        assertThat(offHeapPerEntry).isLessThan(16.0);
+        assertThat(sparseIndexPerEntry).isLessThan(1.0);
+        /*
+            compact() 가 회수하는 heap 은 전체/타입별 skip list 노드와 키 객체뿐이고, PointHistory 객체는 Table 에 그대로 남는다.
+            대신 세그먼트가 같은 내역의 off-heap 사본을 추가로 가지므로, 이 기능은 인덱스 오버헤드를 줄일 뿐 오래된 내역을 heap 에서 내보내지 않는다.
+            heap 측정값은 GC 타이밍에 따라 흔들리므로 출력만 하고, 세그먼트가 직접 보고하는 크기만 검증한다.
+         */
+    }
+
+    private List<PointHistory> readAll(TransactionType type) {
+        List<PointHistory> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            PointHistoryPage page = index.findRange(0L, Long.MAX_VALUE, type, cursor, 37);
+            result.addAll(page.histories());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return result;
+    }
+
+    private static PointHistory history(long id) {
+        TransactionType type = id % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+        return new PointHistory(id, id % 50 + 1, (id % 10 + 1) * 100L, type, 1_700_000_000_000L + id * 250L);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointLot;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointLotLedgerTest {
+
+    private static final long USER_ID = 1L;
+
+    private PointLotLedger ledger;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new PointLotLedger(new PointExpiryProperties(Duration.ofDays(30), Duration.ofSeconds(1)));
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    @DisplayName("포인트 사용 시 가장 오래된 lot 부터 차감되어야 한다.")
+    void givenMultipleLots_whenConsume_thenOldestFirst() {
+        // given
+        PointLot first = ledger.issue(USER_ID, 1000L, now);
+        PointLot second = ledger.issue(USER_ID, 500L, now + 1000L);
+
+        // when
+        ledger.consume(USER_ID, 1200L, 1500L);
+
+        // then
+        assertThat(first.remaining()).isZero();
+        assertThat(second.remaining()).isEqualTo(300L);
+        assertThat(ledger.outstanding(USER_ID)).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("lot 으로 추적되지 않는 잔액이 있으면 그 잔액부터 차감되어야 한다.")
+    void givenUntrackedBalance_whenConsume_thenUntrackedFirst() {
+        // given: 보유 1500 중 lot 으로 추적되는 것은 1000
+        PointLot lot = ledger.issue(USER_ID, 1000L, now);
+
+        // when
+        ledger.consume(USER_ID, 700L, 1500L);
+
+        // then
+        assertThat(lot.remaining()).isEqualTo(800L);
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 lot 만 꺼내지고, 남은 포인트만 소멸되어야 한다.")
+    void givenPartiallyUsedLot_whenExpire_thenOnlyRemainingExpires() {
+        // given
+        PointLot lot = ledger.issue(USER_ID, 1000L, now);
+        ledger.consume(USER_ID, 400L, 1000L);
+
+        // when
+        assertThat(ledger.pollExpired(lot.expireMillis() - 1000L)).isEmpty();
+        List<PointLot> due = ledger.pollExpired(lot.expireMillis() + 1000L);
+        long expired = ledger.expire(USER_ID, due);
+
+        // then
+        assertThat(due).containsExactly(lot);
+        assertThat(expired).isEqualTo(600L);
+        assertThat(ledger.outstanding(USER_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("모두 사용된 lot 이 만료되면 소멸되는 포인트가 없어야 한다.")
+    void givenFullyUsedLot_whenExpire_thenNothingExpires() {
+        // given
+        PointLot lot = ledger.issue(USER_ID, 1000L, now);
+        ledger.consume(USER_ID, 1000L, 1000L);
+
+        // when
+        long expired = ledger.expire(USER_ID, ledger.pollExpired(lot.expireMillis() + 1000L));
+
+        // then
+        assertThat(expired).isZero();
+    }
+
+    @Test
+    @DisplayName("이체로 넘어간 포인트는 원래 만료 시각을 유지하고, 받는 회원은 만료가 빠른 lot 부터 사용해야 한다.")
+    void givenTransferredLot_whenConsume_thenEarliestExpiryFirst() {
+        // given: 보낸 회원의 lot 은 10일 전에 발급되어 받는 회원의 lot 보다 먼저 만료된다.
+        long toUserId = 2L;
+        PointLot own = ledger.issue(toUserId, 1000L, now);
+        ledger.issue(USER_ID, 1000L, now - Duration.ofDays(10).toMillis());
+        List<PointLot> consumed = ledger.consume(USER_ID, 300L, 1000L);
+        PointLot transferred = null;
+        for (PointLot lot : consumed) {
+            transferred = ledger.issue(toUserId, lot.amount(), lot.issuedMillis(), lot.expireMillis());
+        }
+
+        // when
+        ledger.consume(toUserId, 200L, 1300L);
+
+        // then
+        assertThat(consumed).singleElement().satisfies(lot -> {
+            assertThat(lot.amount()).isEqualTo(300L);
+            assertThat(lot.expireMillis()).isEqualTo(now + Duration.ofDays(20).toMillis());
+        });
+        assertThat(transferred.remaining()).isEqualTo(100L);
+        assertThat(own.remaining()).isEqualTo(1000L);
+        assertThat(ledger.pollExpired(transferred.expireMillis() + 1000L)).contains(transferred).doesNotContain(own);
+    }
+}
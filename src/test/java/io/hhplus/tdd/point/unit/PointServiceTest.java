@@ -3,8 +3,13 @@ package io.hhplus.tdd.point.unit;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointTransferResult;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.expiry.PointLot;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.service.PointHistoryIndex;
+import io.hhplus.tdd.point.tracing.PointTracer;
 import io.hhplus.tdd.point.service.impl.PointServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -31,6 +36,15 @@ public class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
+    @Mock
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Mock
+    private PointLotLedger pointLotLedger;
+
+    @Mock
+    private PointTracer pointTracer;
+
     @InjectMocks
     private PointServiceImpl pointService;
 
@@ -462,4 +476,147 @@ public class PointServiceTest {
              */
         }
     }
+
+    /** 포인트 이체 기능
+     *  1. 자기 자신에게는 이체할 수 없다.
+     *  2. 보내는 회원의 포인트가 부족하면 예외가 발생해야 한다.
+     *  3. 받는 회원의 포인트가 최대 포인트를 넘게 되면 예외가 발생해야 한다.
+     *  4. 이체에 성공하면 보내는 회원은 차감, 받는 회원은 증가하고 각각 USE/CHARGE 히스토리가 기록되어야 한다.
+     */
+    @Nested
+    @DisplayName("포인트 이체 테스트")
+    public class TransferPointTest {
+
+        @Test
+        @DisplayName("자기 자신에게 이체하면 예외가 발생한다.")
+        void givenSameUser_whenTransfer_thenThrowException() {
+            assertThatThrownBy(() -> pointService.transfer(1L, 1L, 100L))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("자기 자신에게 포인트를 이체할 수 없습니다.");
+        }
+
+        @Test
+        @DisplayName("보내는 회원의 포인트가 부족하면 예외가 발생한다.")
+        void givenInsufficientPoint_whenTransfer_thenThrowException() {
+            // given
+            when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 100L, 12345L));
+
+            // when & then
+            assertThatThrownBy(() -> pointService.transfer(1L, 2L, 200L))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("포인트가 부족합니다.");
+            verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        }
+
+        @Test
+        @DisplayName("받는 회원의 포인트가 최대 포인트를 넘게 되면 예외가 발생한다.")
+        void givenReceiverNearMax_whenTransfer_thenThrowException() {
+            // given
+            when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 1000L, 12345L));
+            when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 999900L, 12345L));
+
+            // when & then
+            assertThatThrownBy(() -> pointService.transfer(1L, 2L, 200L))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("최대 포인트는 100만 포인트여야 합니다.");
+            verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+            /*
+                어느 한쪽이라도 규칙을 어기면 두 회원 모두 변경되지 않아야 하므로, 저장 호출이 없었는지 검증했다.
+             */
+        }
+
+        @Test
+        @DisplayName("이체에 성공하면 양쪽 포인트가 반영되고 USE/CHARGE 히스토리가 기록되어야 한다.")
+        void givenValidTransfer_whenTransfer_thenBothUpdatedWithHistories() {
+            // given
+            when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 1000L, 12345L));
+            when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 500L, 12345L));
+            when(userPointTable.insertOrUpdate(2L, 700L)).thenReturn(new UserPoint(2L, 700L, 12345L));
+            when(userPointTable.insertOrUpdate(1L, 800L)).thenReturn(new UserPoint(1L, 800L, 12345L));
+
+            // when
+            PointTransferResult result = pointService.transfer(2L, 1L, 300L);
+
+            // then
+            assertThat(result.from().point()).isEqualTo(700L);
+            assertThat(result.to().point()).isEqualTo(800L);
+            verify(pointHistoryTable, times(1)).insert(eq(2L), eq(300L), eq(TransactionType.USE), anyLong());
+            verify(pointHistoryTable, times(1)).insert(eq(1L), eq(300L), eq(TransactionType.CHARGE), anyLong());
+        }
+
+        @Test
+        @DisplayName("이체받은 포인트는 보낸 회원 lot 의 만료 시각을 그대로 이어받아야 한다.")
+        void givenSenderLots_whenTransfer_thenReceiverKeepsOriginalExpiry() {
+            // given
+            when(userPointTable.selectById(2L)).thenReturn(new UserPoint(2L, 1000L, 12345L));
+            when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 500L, 12345L));
+            when(pointLotLedger.consume(2L, 300L, 1000L)).thenReturn(List.of(
+                    new PointLot(2L, 100L, 1000L, 5000L),
+                    new PointLot(2L, 200L, 2000L, 6000L)));
+
+            // when
+            pointService.transfer(2L, 1L, 300L);
+
+            // then
+            verify(pointLotLedger, times(1)).issue(1L, 100L, 1000L, 5000L);
+            verify(pointLotLedger, times(1)).issue(1L, 200L, 2000L, 6000L);
+            verify(pointLotLedger, never()).issue(anyLong(), anyLong(), anyLong());
+            /*
+                새 lot 을 발급하면 이체를 주고받는 것만으로 만료를 계속 미룰 수 있으므로,
+                보낸 회원의 lot 에서 차감된 몫이 원래 발급/만료 시각 그대로 받는 회원에게 등록되는지 검증했다.
+             */
+        }
+    }
+
+    /** 포인트 만료 기능
+     *  1. 만료된 lot 의 남은 포인트만큼 보유 포인트에서 차감되어야 한다.
+     *  2. 포인트가 만료되면 EXPIRE 타입으로 히스토리가 기록되어야 한다.
+     *  3. 만료된 lot 이 이미 모두 사용되었다면 포인트와 히스토리가 변경되지 않아야 한다.
+     */
+    @Nested
+    @DisplayName("포인트 만료 테스트")
+    public class ExpirePointTest {
+
+        @Test
+        @DisplayName("만료된 lot 의 남은 포인트만큼 보유 포인트에서 차감되어야 한다.")
+        void givenExpiredLots_whenExpire_thenPointShouldBeDeducted() {
+            // given
+            long userId = 1L;
+            List<PointLot> lots = List.of(new PointLot(userId, 1000L, 0L, 1000L));
+            when(pointLotLedger.expirable(lots)).thenReturn(700L);
+            when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1500L, 12345L));
+            when(userPointTable.insertOrUpdate(userId, 800L)).thenReturn(new UserPoint(userId, 800L, 12345L));
+
+            // when
+            UserPoint result = pointService.expire(userId, lots);
+
+            // then
+            assertThat(result.point()).isEqualTo(800L);
+            verify(pointHistoryTable, times(1)).insert(eq(userId), eq(700L), eq(TransactionType.EXPIRE), anyLong());
+            verify(pointLotLedger, times(1)).expire(userId, lots);
+            /*
+                만료 금액 계산(lot 잔액 합산)은 원장의 책임이므로 stub 으로 대체하고,
+                서비스는 그 금액만큼 포인트를 차감하고 EXPIRE 히스토리를 남긴 뒤 lot 을 소멸시키는지 검증했다.
+             */
+        }
+
+        @Test
+        @DisplayName("만료된 lot 이 이미 모두 사용되었다면 포인트와 히스토리가 변경되지 않아야 한다.")
+        void givenFullyUsedLots_whenExpire_thenNothingChanges() {
+            // given
+            long userId = 1L;
+            List<PointLot> lots = List.of(new PointLot(userId, 1000L, 0L, 1000L));
+            when(pointLotLedger.expirable(lots)).thenReturn(0L);
+            when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 500L, 12345L));
+
+            // when
+            UserPoint result = pointService.expire(userId, lots);
+
+            // then
+            assertThat(result.point()).isEqualTo(500L);
+            verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+            verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+            verify(pointLotLedger, never()).expire(anyLong(), any());
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.point.tracing.SlowTraceRecorder;
+import io.hhplus.tdd.point.tracing.TraceSummary;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SlowTraceRecorderTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SlowTraceRecorder recorder = new SlowTraceRecorder();
+
+    @Test
+    @DisplayName("root span 이 끝나면 하위 단계들이 시작 순서대로 묶여 기록되어야 한다.")
+    void givenChildSpans_whenRootFinishes_thenStagesGroupedInStartOrder() {
+        // given
+        recorder.report(span("trace-1", "child-2", "root", "userPointTable.insertOrUpdate", 150, 400, null));
+        recorder.report(span("trace-1", "child-1", "root", "pointService.lock", 10, 120, null));
+
+        // when
+        recorder.report(span("trace-1", "root", null, "http patch /point/{id}/charge", 0, 500, Span.Kind.SERVER));
+
+        // then
+        List<TraceSummary> slowest = recorder.slowest(10);
+        assertThat(slowest).hasSize(1);
+        TraceSummary summary = slowest.get(0);
+        assertThat(summary.durationMicros()).isEqualTo(500_000L);
+        assertThat(summary.stages()).extracting(TraceSummary.Stage::name)
+                .containsExactly("pointService.lock", "userPointTable.insertOrUpdate");
+        assertThat(summary.stages().get(0).durationMicros()).isEqualTo(110_000L);
+        assertThat(summary.stages().get(1).offsetMicros()).isEqualTo(150_000L);
+    }
+
+    @Test
+    @DisplayName("느린 trace 부터 limit 건만 반환해야 한다.")
+    void givenManyTraces_whenSlowest_thenSortedByDuration() {
+        // given
+        recorder.report(span("fast", "a", null, "fast", 0, 10, Span.Kind.SERVER));
+        recorder.report(span("slow", "b", null, "slow", 0, 900, Span.Kind.SERVER));
+        recorder.report(span("mid", "c", null, "mid", 0, 300, Span.Kind.SERVER));
+
+        // when
+        List<TraceSummary> slowest = recorder.slowest(2);
+
+        // then
+        assertThat(slowest).extracting(TraceSummary::traceId).containsExactly("slow", "mid");
+    }
+
+    @Test
+    @DisplayName("요청 밖에서 시작된 trace(스케줄러 등)는 기록되지 않아야 한다.")
+    void givenScheduledTrace_whenRootFinishes_thenNotRecorded() {
+        // given
+        recorder.report(span("slow", "root", null, "http get /point/{id}", 0, 300, Span.Kind.SERVER));
+        recorder.report(span("tick", "child", "task", "pointService.lock", 0, 1, null));
+
+        // when
+        recorder.report(span("tick", "task", null, "task pointExpiryScheduler.expire", 0, 2, null));
+
+        // then
+        assertThat(recorder.slowest(10)).extracting(TraceSummary::traceId).containsExactly("slow");
+        /*
+            부모가 없지만 SERVER span 이 아닌 trace 는 1초마다 생기는 스케줄러 작업이므로,
+            버퍼에 쌓이면 실제 느린 요청이 밀려난다.
+         */
+    }
+
+    private static FinishedSpan span(String traceId, String spanId, String parentId, String name,
+                                     long startMillis, long endMillis, Span.Kind kind) {
+        FinishedSpan span = mock(FinishedSpan.class);
+        when(span.getTraceId()).thenReturn(traceId);
+        when(span.getSpanId()).thenReturn(spanId);
+        when(span.getParentId()).thenReturn(parentId);
+        when(span.getName()).thenReturn(name);
+        when(span.getKind()).thenReturn(kind);
+        when(span.getStartTimestamp()).thenReturn(START.plusMillis(startMillis));
+        when(span.getEndTimestamp()).thenReturn(START.plusMillis(endMillis));
+        return span;
+    }
+}